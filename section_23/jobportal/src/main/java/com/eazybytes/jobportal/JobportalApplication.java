@@ -1,5 +1,6 @@
 package com.eazybytes.jobportal;
 
+import com.eazybytes.jobportal.security.ratelimit.RateLimitProperties;
 import com.eazybytes.jobportal.security.util.CorsProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -10,7 +11,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 @EnableCaching
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditorAwareImpl")
-@EnableConfigurationProperties(value = {CorsProperties.class})
+@EnableConfigurationProperties(value = {CorsProperties.class, RateLimitProperties.class})
 public class JobportalApplication {
 
 	public static void main(String[] args) {
@@ -1,35 +1,43 @@
 package com.eazybytes.jobportal.aspects;
 
-import lombok.extern.slf4j.Slf4j;
+import com.eazybytes.jobportal.metrics.ExceptionTelemetry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-
 @Aspect
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class ExceptionAuditAspect {
 
+    private final ExceptionTelemetry exceptionTelemetry;
+
+    /*
+    An exception bubbling up controller -> service -> repository passes this advice once per
+    layer. Only the innermost layer, where it is seen first, counts it: exceptions already
+    audited, or wrapping one that was, are skipped. Weak identity keys, nothing is retained.
+     */
+    private final Cache<Throwable, Boolean> auditedExceptions = Caffeine.newBuilder()
+            .weakKeys().maximumSize(10_000).build();
+
     @AfterThrowing(
             pointcut = "execution(* com.eazybytes.jobportal..*.*(..))",
             throwing = "ex"
     )
     public void logAfterException(JoinPoint joinPoint, Exception ex) {
-        String methodName = joinPoint.getSignature().toShortString();
-        Object[] methodArgs = joinPoint.getArgs();
-
-        log.error("❌ Exception occurred in method: {}", methodName);
-        log.error("📥 Arguments: {}", Arrays.toString(methodArgs));
-        log.error("💥 Exception type: {}", ex.getClass().getSimpleName());
-        log.error("🧾 Exception message: {}", ex.getMessage());
-
-        // Here you could also:
-        // - Send metrics
-        // - Push audit events
-        // - Trigger alerts
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (auditedExceptions.getIfPresent(cause) != null) {
+                auditedExceptions.put(ex, Boolean.TRUE);
+                return;
+            }
+        }
+        auditedExceptions.put(ex, Boolean.TRUE);
+        exceptionTelemetry.record(ex, joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName());
     }
 
 }
@@ -0,0 +1,129 @@
+package com.eazybytes.jobportal.aspects;
+
+import com.eazybytes.jobportal.metrics.LatencyRecorder;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times the methods of beans annotated with {@link RecordLatency}.
+ * <p>
+ * The hot path is a clock read, a map lookup and a {@link LatencyRecorder#record(long)}, no
+ * string is built. Each method is published to Micrometer once, on its first call, as the
+ * {@code jobportal.method.latency} function timer plus percentile and max gauges of the last
+ * window. Arguments are only captured for calls slower than the threshold, at most once per
+ * method and sample interval, and only as their types and sizes: no argument value is ever
+ * written to the log, arguments carry emails, profile JSON and file contents.
+ */
+@Aspect
+@Component
+@Slf4j
+public class LatencyRecordingAspect {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private record MethodRecorder(String name, LatencyRecorder recorder, AtomicLong lastSampledAt) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final long slowThresholdNanos;
+    private final long sampleIntervalNanos;
+    private final Map<Method, MethodRecorder> recorders = new ConcurrentHashMap<>();
+
+    public LatencyRecordingAspect(MeterRegistry meterRegistry,
+            @Value("${metrics.latency.window-seconds:60}") long windowSeconds,
+            @Value("${metrics.latency.slow-threshold-ms:500}") long slowThresholdMs,
+            @Value("${metrics.latency.slow-sample-interval-seconds:10}") long sampleIntervalSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.sampleIntervalNanos = TimeUnit.SECONDS.toNanos(sampleIntervalSeconds);
+    }
+
+    @Around("execution(public * *(..)) && (@within(com.eazybytes.jobportal.aspects.RecordLatency)"
+            + " || @annotation(com.eazybytes.jobportal.aspects.RecordLatency))")
+    public Object recordLatency(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            MethodRecorder methodRecorder = recorders.get(method);
+            if (methodRecorder == null) {
+                methodRecorder = recorders.computeIfAbsent(method, this::register);
+            }
+            methodRecorder.recorder().record(elapsed);
+            if (elapsed >= slowThresholdNanos) {
+                sampleSlowCall(methodRecorder, joinPoint.getArgs(), elapsed);
+            }
+        }
+    }
+
+    private MethodRecorder register(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        LatencyRecorder recorder = new LatencyRecorder(window);
+        Tags tags = Tags.of("class", className, "method", method.getName());
+        FunctionTimer.builder("jobportal.method.latency", recorder, LatencyRecorder::count,
+                        LatencyRecorder::totalNanos, TimeUnit.NANOSECONDS)
+                .tags(tags).description("Latency of methods annotated with @RecordLatency")
+                .register(meterRegistry);
+        for (double percentile : PERCENTILES) {
+            Gauge.builder("jobportal.method.latency.percentile", recorder,
+                            r -> r.lastWindow().percentileMicros(percentile) / 1_000_000.0)
+                    .tags(tags).tag("phi", String.valueOf(percentile)).baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("jobportal.method.latency.max", recorder, r -> r.lastWindow().maxMicros() / 1_000_000.0)
+                .tags(tags).baseUnit("seconds").register(meterRegistry);
+        return new MethodRecorder(className + "." + method.getName(), recorder,
+                new AtomicLong(System.nanoTime() - sampleIntervalNanos));
+    }
+
+    private void sampleSlowCall(MethodRecorder methodRecorder, Object[] args, long elapsed) {
+        long now = System.nanoTime();
+        long lastSampledAt = methodRecorder.lastSampledAt().get();
+        if (now - lastSampledAt < sampleIntervalNanos
+                || !methodRecorder.lastSampledAt().compareAndSet(lastSampledAt, now)) {
+            return;
+        }
+        log.warn("Slow call {} took {} ms, arguments: {}", methodRecorder.name(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), summarize(args));
+    }
+
+    // Types and sizes only, the size is what usually explains a slow call
+    static String summarize(Object[] args) {
+        StringJoiner summary = new StringJoiner(", ", "[", "]");
+        for (Object arg : args) {
+            summary.add(switch (arg) {
+                case null -> "null";
+                case CharSequence text -> arg.getClass().getSimpleName() + "(" + text.length() + " chars)";
+                case byte[] bytes -> "byte[" + bytes.length + "]";
+                case MultipartFile file -> "MultipartFile(" + file.getSize() + " bytes)";
+                case Collection<?> collection -> arg.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+                default -> arg.getClass().getSimpleName();
+            });
+        }
+        return summary.toString();
+    }
+
+}
@@ -5,7 +5,11 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Records the latency of a method, or of every public method of a bean, see
+ * {@link LatencyRecordingAspect}
+ */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.METHOD)
-public @interface LogAspect {
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RecordLatency {
 }
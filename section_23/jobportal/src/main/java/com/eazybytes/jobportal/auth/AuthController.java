@@ -3,15 +3,22 @@ package com.eazybytes.jobportal.auth;
 import com.eazybytes.jobportal.constants.ApplicationConstants;
 import com.eazybytes.jobportal.dto.LoginRequestDto;
 import com.eazybytes.jobportal.dto.LoginResponseDto;
+import com.eazybytes.jobportal.dto.RefreshTokenRequestDto;
 import com.eazybytes.jobportal.dto.RegisterRequestDto;
 import com.eazybytes.jobportal.dto.UserDto;
 import com.eazybytes.jobportal.entity.JobPortalUser;
 import com.eazybytes.jobportal.entity.Role;
+import com.eazybytes.jobportal.exception.PasswordHashingBusyException;
 import com.eazybytes.jobportal.repository.JobPortalUserRepository;
 import com.eazybytes.jobportal.repository.RoleRepository;
-import com.eazybytes.jobportal.security.util.JwtUtil;
+import com.eazybytes.jobportal.security.JobPortalPrincipal;
+import com.eazybytes.jobportal.security.ratelimit.RateLimiter;
+import com.eazybytes.jobportal.security.token.JwtTokenService;
+import io.jsonwebtoken.JwtException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,15 +27,21 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/auth")
@@ -36,27 +49,36 @@ import java.util.Optional;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
+    private final JwtTokenService jwtTokenService;
     private final PasswordEncoder passwordEncoder;
     private final JobPortalUserRepository jobPortalUserRepository;
     private final RoleRepository roleRepository;
     private final CompromisedPasswordChecker compromisedPasswordChecker;
+    private final RateLimiter rateLimiter;
 
     @PostMapping(value = "/login/public",version = "1.0")
     public ResponseEntity<LoginResponseDto> apiLogin(@RequestBody LoginRequestDto loginRequestDto) {
+        // Per account limit, the per IP limit is applied by RateLimitFilter
+        RateLimiter.Decision decision = rateLimiter.tryAcquireLogin(loginRequestDto.username());
+        if (!decision.allowed()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                    .body(new LoginResponseDto("Too many login attempts, please retry later", null, null, null));
+        }
         try {
             var resultAuthentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginRequestDto.username(),
                     loginRequestDto.password()));
-            // Generate JWT token
-            String jwtToken = jwtUtil.generateJwtToken(resultAuthentication);
-            var userDto = new UserDto();
+            // Generate JWT token, every login starts a new token family
+            UUID familyId = UUID.randomUUID();
+            String jwtToken = jwtTokenService.generateJwtToken(resultAuthentication, familyId);
             var loggedInUser = (JobPortalUser) resultAuthentication.getPrincipal();
-            BeanUtils.copyProperties(loggedInUser, userDto);
-            userDto.setRole(loggedInUser.getRole().getName());
-            userDto.setUserId(loggedInUser.getId());
             return ResponseEntity.status(HttpStatus.OK)
-                    .body(new LoginResponseDto(HttpStatus.OK.getReasonPhrase(),
-                            userDto, jwtToken));
+                    .body(new LoginResponseDto(HttpStatus.OK.getReasonPhrase(), toUserDto(loggedInUser), jwtToken,
+                            jwtTokenService.generateRefreshToken(loggedInUser, familyId)));
+        } catch (PasswordHashingBusyException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS))
+                    .body(new LoginResponseDto(ex.getMessage(), null, null, null));
         } catch (BadCredentialsException ex) {
             return buildErrorResponse(HttpStatus.UNAUTHORIZED,
                     "Invalid username or password");
@@ -70,6 +92,52 @@ public class AuthController {
 
     }
 
+    /*
+    Exchanges a refresh token for a new access and refresh token pair. The user is read again,
+    so a role elevation or a company assignment applies from here on.
+     */
+    @PostMapping(value = "/refresh/public", version = "1.0")
+    public ResponseEntity<LoginResponseDto> refreshToken(
+            @RequestBody @Valid RefreshTokenRequestDto refreshTokenRequestDto) {
+        JwtTokenService.RefreshGrant grant;
+        try {
+            grant = jwtTokenService.rotateRefreshToken(refreshTokenRequestDto.refreshToken());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+        }
+        Optional<JobPortalUser> user = jobPortalUserRepository.findById(grant.userId());
+        if (user.isEmpty()) {
+            return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+        }
+        JobPortalUser refreshedUser = user.get();
+        var authentication = UsernamePasswordAuthenticationToken.authenticated(refreshedUser, null,
+                List.of(new SimpleGrantedAuthority(refreshedUser.getRole().getName())));
+        return ResponseEntity.ok(new LoginResponseDto(HttpStatus.OK.getReasonPhrase(), toUserDto(refreshedUser),
+                jwtTokenService.generateJwtToken(authentication, grant.familyId()),
+                jwtTokenService.generateRefreshToken(refreshedUser, grant)));
+    }
+
+    /*
+    Revokes the tokens of the current session, the access token of the request and the given
+    refresh token, or with allDevices every token issued to the user so far. The revocation of
+    all devices only covers the tokens issued before the current second, the tokens presented
+    here are revoked by ID as well.
+     */
+    @PostMapping(value = "/logout", version = "1.0")
+    public ResponseEntity<Void> logout(@RequestHeader(ApplicationConstants.JWT_HEADER) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequestDto refreshTokenRequestDto,
+            @RequestParam(defaultValue = "false") boolean allDevices,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        if (allDevices) {
+            jwtTokenService.revokeAll(principal.userId());
+        }
+        jwtTokenService.revoke(authHeader.substring(7)); // Remove 'Bearer ' prefix
+        if (refreshTokenRequestDto != null && refreshTokenRequestDto.refreshToken() != null) {
+            jwtTokenService.revoke(refreshTokenRequestDto.refreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(value = "/register/public",version = "1.0")
     public ResponseEntity<?> registerUser(@RequestBody RegisterRequestDto registerRequestDto) {
         JobPortalUser jobPortalUser = new JobPortalUser();
@@ -87,7 +155,15 @@ public class AuthController {
             String message) {
         return ResponseEntity
                 .status(status)
-                .body(new LoginResponseDto(message, null, null));
+                .body(new LoginResponseDto(message, null, null, null));
+    }
+
+    private UserDto toUserDto(JobPortalUser jobPortalUser) {
+        var userDto = new UserDto();
+        BeanUtils.copyProperties(jobPortalUser, userDto);
+        userDto.setRole(jobPortalUser.getRole().getName());
+        userDto.setUserId(jobPortalUser.getId());
+        return userDto;
     }
 
 }
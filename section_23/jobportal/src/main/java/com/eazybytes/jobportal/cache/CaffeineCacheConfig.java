@@ -1,17 +1,44 @@
 package com.eazybytes.jobportal.cache;
 
+import com.eazybytes.jobportal.cache.shared.InProcessSharedCacheTier;
+import com.eazybytes.jobportal.cache.shared.SharedCacheTier;
+import com.eazybytes.jobportal.cache.shared.SharedTierCacheLoader;
+import com.eazybytes.jobportal.cache.shared.TwoTierCacheManager;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * All caches are async Caffeine caches. Concurrent misses on one key wait for a single load
+ * ({@code @Cacheable(sync = true)}). A cache with a loader and a {@code refresh-minutes} policy
+ * is reloaded in the background once an entry is older than that, while the stale entry keeps
+ * being served, so a hot key never expires under load.
+ * <p>
+ * With {@code cache.shared.enabled} the caches listed in {@code cache.shared.cache-names} become
+ * near-caches of a {@link SharedCacheTier} bean, see {@link TwoTierCacheManager}. Shared entries
+ * expire with the TTL of their cache, and background refreshes are written through to the
+ * shared tier. Without a {@link SharedCacheTier} bean the application does not start, unless
+ * {@code cache.shared.in-process} explicitly accepts a tier that only spans this JVM.
+ */
 @Configuration
+@Slf4j
 public class CaffeineCacheConfig {
 
     @Value("${cache.jobs.ttl-minutes:5}")
@@ -20,6 +47,9 @@ public class CaffeineCacheConfig {
     @Value("${cache.jobs.max-size:2000}")
     private int jobsCacheMaxSize;
 
+    @Value("${cache.jobs.refresh-minutes:0}")
+    private int jobsCacheRefreshMinutes;
+
     @Value("${cache.companies.ttl-minutes:5}")
     private int companiesCacheTtlMinutes;
 
@@ -32,30 +62,88 @@ public class CaffeineCacheConfig {
     @Value("${cache.roles.max-size:50}")
     private int rolesCacheMaxSize;
 
+    @Value("${cache.shared.enabled:false}")
+    private boolean sharedCacheEnabled;
+
+    @Value("${cache.shared.cache-names:jobs,companies}")
+    private List<String> sharedCacheNames;
+
+    @Value("${cache.shared.in-process:false}")
+    private boolean inProcessSharedCache;
+
     @Bean
-    public CacheManager caffeineCacheManager() {
+    public CacheManager caffeineCacheManager(ObjectProvider<CompanyCatalogCache> companyCatalogCache,
+            ObjectProvider<SharedCacheTier> sharedCacheTier) {
+
+        Duration jobsCacheTtl = Duration.ofMinutes(jobsCacheTtlMinutes);
+        Duration companiesCacheTtl = Duration.ofMinutes(companiesCacheTtlMinutes);
+        Duration rolesCacheTtl = Duration.ofDays(rolesCacheTtlDays);
+        SharedCacheTier sharedTier = sharedCacheEnabled ? resolveSharedTier(sharedCacheTier) : null;
+        String nodeId = UUID.randomUUID().toString();
 
+        CacheLoader<Object, Object> jobsLoader = status -> companyCatalogCache.getObject().loadCatalog((String) status);
+        if (sharedTier != null && sharedCacheNames.contains("jobs")) {
+            jobsLoader = new SharedTierCacheLoader(jobsLoader, sharedTier, "jobs", jobsCacheTtl, nodeId);
+        }
         CaffeineCache jobsCache = new CaffeineCache("jobs",
-                Caffeine.newBuilder()
-                        .expireAfterWrite(jobsCacheTtlMinutes, TimeUnit.MINUTES)
-                        .maximumSize(jobsCacheMaxSize)
-                        .build());
+                buildCache(jobsCacheTtl, jobsCacheMaxSize, Duration.ofMinutes(jobsCacheRefreshMinutes), jobsLoader),
+                true);
 
         CaffeineCache companiesCache = new CaffeineCache("companies",
-                Caffeine.newBuilder()
-                        .expireAfterWrite(companiesCacheTtlMinutes, TimeUnit.MINUTES)
-                        .maximumSize(companiesCacheMaxSize)
-                        .build());
+                buildCache(companiesCacheTtl, companiesCacheMaxSize, Duration.ZERO, null),
+                true);
 
         CaffeineCache rolesCache = new CaffeineCache("roles",
-                Caffeine.newBuilder()
-                        .expireAfterWrite(rolesCacheTtlDays, TimeUnit.DAYS)
-                        .maximumSize(rolesCacheMaxSize)
-                        .build());
+                buildCache(rolesCacheTtl, rolesCacheMaxSize, Duration.ZERO, null),
+                true);
 
+        if (sharedTier != null) {
+            Map<String, Duration> cacheTtls = Map.of("jobs", jobsCacheTtl, "companies", companiesCacheTtl,
+                    "roles", rolesCacheTtl);
+            TwoTierCacheManager manager = new TwoTierCacheManager(
+                    List.of(jobsCache, companiesCache, rolesCache),
+                    sharedCacheNames.stream().distinct().filter(cacheTtls::containsKey)
+                            .collect(Collectors.toMap(Function.identity(), cacheTtls::get)),
+                    sharedTier, nodeId);
+            manager.setTransactionAware(true);
+            return manager;
+        }
+
+        // Puts and evictions made inside a transaction are applied only after it commits,
+        // so a concurrent reader can not cache the pre-commit state again
         SimpleCacheManager manager = new SimpleCacheManager();
-        manager.setCaches(Arrays.asList(jobsCache, companiesCache, rolesCache));
+        manager.setCaches(Arrays.asList(new TransactionAwareCacheDecorator(jobsCache),
+                new TransactionAwareCacheDecorator(companiesCache), new TransactionAwareCacheDecorator(rolesCache)));
         return manager;
     }
 
+    private SharedCacheTier resolveSharedTier(ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        SharedCacheTier sharedTier = sharedCacheTier.getIfAvailable();
+        if (sharedTier != null) {
+            return sharedTier;
+        }
+        // An in-process tier reaches no other replica, they would neither share entries nor invalidations
+        if (!inProcessSharedCache) {
+            throw new IllegalStateException("cache.shared.enabled is set but there is no SharedCacheTier bean,"
+                    + " set cache.shared.in-process=true to share the caches within this JVM only");
+        }
+        log.warn("cache.shared.in-process is set, the shared cache tier only spans this JVM and replicas"
+                + " do not see each other's entries or invalidations");
+        return new InProcessSharedCacheTier();
+    }
+
+    private static AsyncCache<Object, Object> buildCache(Duration ttl, int maxSize, Duration refreshAfter,
+            CacheLoader<Object, Object> loader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize);
+        if (loader == null) {
+            return builder.buildAsync();
+        }
+        if (!refreshAfter.isZero() && refreshAfter.compareTo(ttl) < 0) {
+            builder.refreshAfterWrite(refreshAfter);
+        }
+        return builder.buildAsync(loader);
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.eazybytes.jobportal.cache;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.events.ApplicationCountChangedEvent;
+import com.eazybytes.jobportal.events.CompanyDeletedEvent;
+import com.eazybytes.jobportal.events.CompanyUpdatedEvent;
+import com.eazybytes.jobportal.events.JobCatalogEvent;
+import com.eazybytes.jobportal.events.JobCatalogReadModel;
+import com.eazybytes.jobportal.events.JobCreatedEvent;
+import com.eazybytes.jobportal.events.JobStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the {@code jobs} cache in step with committed catalog changes.
+ * <p>
+ * Only the status keys touched by a batch of events are invalidated. The ACTIVE key backs the
+ * public company page, so instead of being evicted it is reloaded in the background and
+ * swapped in, the page never pays for a miss. Other keys are simply evicted.
+ * <p>
+ * Applies and withdrawals do not invalidate anything. They are the hottest write path and a
+ * reload per burst would cost a full catalog query. Each load merges the counts held by
+ * {@code ApplicationsCounter}, so the catalog counts lag by at most {@code cache.jobs.refresh-minutes}.
+ */
+@Component
+@Slf4j
+public class CatalogCacheInvalidator implements JobCatalogReadModel {
+
+    private final CompanyCatalogCache companyCatalogCache;
+    private final Cache jobsCache;
+    private final AtomicBoolean refreshPending = new AtomicBoolean(false);
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("catalog-cache-refresh").daemon(true).factory());
+
+    public CatalogCacheInvalidator(CompanyCatalogCache companyCatalogCache, CacheManager cacheManager) {
+        this.companyCatalogCache = companyCatalogCache;
+        this.jobsCache = cacheManager.getCache(CompanyCatalogCache.CACHE_NAME);
+    }
+
+    @Override
+    public void apply(List<JobCatalogEvent> events) {
+        Set<String> affectedStatuses = new HashSet<>();
+        boolean allStatuses = false;
+        for (JobCatalogEvent event : events) {
+            switch (event) {
+                case JobCreatedEvent(JobDto job) -> affectedStatuses.add(job.status());
+                case JobStatusChangedEvent(JobDto job, String previousStatus) -> {
+                    affectedStatuses.add(job.status());
+                    affectedStatuses.add(previousStatus);
+                }
+                // Jobs embed the company name and logo
+                case CompanyUpdatedEvent _ -> affectedStatuses.add(ApplicationConstants.ACTIVE_STATUS);
+                case ApplicationCountChangedEvent _ -> { }
+                case CompanyDeletedEvent _ -> allStatuses = true;
+            }
+        }
+        if (allStatuses) {
+            jobsCache.clear();
+            refreshActiveCatalog();
+            return;
+        }
+        for (String status : affectedStatuses) {
+            if (ApplicationConstants.ACTIVE_STATUS.equals(status)) {
+                refreshActiveCatalog();
+            } else if (status != null) {
+                jobsCache.evict(status);
+            }
+        }
+    }
+
+    /*
+    A refresh queued while another one runs is executed after it, so the last committed
+    change is always picked up. Requests arriving before the queued refresh starts share it.
+     */
+    private void refreshActiveCatalog() {
+        if (refreshPending.getAndSet(true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            refreshPending.set(false);
+            try {
+                companyCatalogCache.refreshCatalog(ApplicationConstants.ACTIVE_STATUS);
+            } catch (RuntimeException ex) {
+                log.error("Failed to refresh the public company catalog, evicting it", ex);
+                jobsCache.evict(ApplicationConstants.ACTIVE_STATUS);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.eazybytes.jobportal.cache;
+
+import com.eazybytes.jobportal.dto.CompanyDto;
+import com.eazybytes.jobportal.job.counter.ApplicationsCounter;
+import com.eazybytes.jobportal.repository.CompanyRepository;
+import com.eazybytes.jobportal.util.ApplicationUtility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Read-model cache of the public company catalog.
+ * <p>
+ * The {@code jobs} cache holds {@link CompanyCatalogSnapshot}s instead of managed
+ * {@code Company} entities. The entity graph is walked once per load, inside the loading
+ * transaction, so a cache hit never touches Hibernate collections or Jackson.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CompanyCatalogCache {
+
+    public static final String CACHE_NAME = "jobs";
+
+    private final CompanyRepository companyRepository;
+    private final JsonMapper jsonMapper;
+    private final ApplicationsCounter applicationsCounter;
+
+    /**
+     * Load the companies having jobs in the given status along with those jobs
+     * @param status the job status, usually ACTIVE
+     * @return the cached snapshot of the catalog
+     */
+    @Cacheable(cacheNames = CACHE_NAME, key = "#status", sync = true)
+    public CompanyCatalogSnapshot getCatalog(String status) {
+        return loadCatalog(status);
+    }
+
+    /**
+     * Load the catalog straight from the database, bypassing the cache. Used as the loader
+     * of the {@code jobs} cache when an entry is refreshed ahead of its expiry.
+     * @param status the job status
+     * @return a new snapshot
+     */
+    public CompanyCatalogSnapshot loadCatalog(String status) {
+        List<CompanyDto> companies = companyRepository.fetchCompaniesWithJobsByStatus(status).stream()
+                .map(ApplicationUtility::transformCompanyToDto)
+                // Applications counted but not flushed yet
+                .map(company -> company.withJobs(company.jobs().stream().map(applicationsCounter::merge).toList()))
+                .toList();
+        return new CompanyCatalogSnapshot(companies, jsonMapper.writeValueAsBytes(companies));
+    }
+
+    /**
+     * Reload the catalog of a status and replace the cached snapshot. Readers keep getting
+     * the previous snapshot until the new one is stored.
+     * @param status the job status to reload
+     * @return the new snapshot
+     */
+    @CachePut(cacheNames = CACHE_NAME, key = "#status")
+    public CompanyCatalogSnapshot refreshCatalog(String status) {
+        return loadCatalog(status);
+    }
+
+}
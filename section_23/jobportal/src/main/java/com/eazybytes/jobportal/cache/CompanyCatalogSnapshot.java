@@ -0,0 +1,16 @@
+package com.eazybytes.jobportal.cache;
+
+import com.eazybytes.jobportal.dto.CompanyDto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Immutable cached view of the companies with jobs in one status.
+ *
+ * @param companies the companies and their jobs, unmodifiable
+ * @param json      the companies already serialized with the MVC {@code JsonMapper}, written to
+ *                  the response as is. Never modify this array.
+ */
+public record CompanyCatalogSnapshot(List<CompanyDto> companies, byte[] json) implements Serializable {
+}
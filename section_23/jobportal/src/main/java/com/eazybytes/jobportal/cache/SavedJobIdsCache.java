@@ -0,0 +1,98 @@
+package com.eazybytes.jobportal.cache;
+
+import com.eazybytes.jobportal.repository.SavedJobRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * IDs of the jobs each user saved, so a page of the catalog can be flagged as saved or not
+ * without a query. A user's IDs are loaded with one statement on first use and kept as a
+ * sorted {@code long[]}, 8 bytes per saved job. Saving and unsaving replace the array after
+ * commit instead of evicting it.
+ * <p>
+ * The arrays expire after {@code cache.saved-jobs.ttl-minutes}, which bounds how long a
+ * change made on another instance stays invisible here.
+ */
+@Component
+public class SavedJobIdsCache {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final LoadingCache<Long, long[]> savedJobIds;
+
+    public SavedJobIdsCache(SavedJobRepository savedJobRepository,
+            @Value("${cache.saved-jobs.ttl-minutes:30}") int ttlMinutes,
+            @Value("${cache.saved-jobs.max-size:100000}") int maxSize) {
+        this.savedJobIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxSize)
+                .build(userId -> {
+                    long[] ids = savedJobRepository.findJobIdsByUserId(userId).stream()
+                            .mapToLong(Long::longValue).toArray();
+                    Arrays.sort(ids);
+                    return ids.length == 0 ? NO_IDS : ids;
+                });
+    }
+
+    /**
+     * @return the sorted IDs of the jobs saved by the user, the array must not be modified
+     */
+    public long[] get(Long userId) {
+        return savedJobIds.get(userId);
+    }
+
+    /**
+     * Record a saved job once the current transaction commits
+     */
+    public void saved(Long userId, Long jobId) {
+        afterCommit(() -> savedJobIds.asMap().computeIfPresent(userId, (_, ids) -> {
+            int index = Arrays.binarySearch(ids, jobId);
+            if (index >= 0) {
+                return ids;
+            }
+            int insertAt = -index - 1;
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = jobId;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            return updated;
+        }));
+    }
+
+    /**
+     * Record an unsaved job once the current transaction commits
+     */
+    public void unsaved(Long userId, Long jobId) {
+        afterCommit(() -> savedJobIds.asMap().computeIfPresent(userId, (_, ids) -> {
+            int index = Arrays.binarySearch(ids, jobId);
+            if (index < 0) {
+                return ids;
+            }
+            long[] updated = new long[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, index);
+            System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+            return updated;
+        }));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import java.io.Serializable;
+
+/**
+ * Broadcast to every node when a cache entry changes, so the nodes drop their local copy.
+ *
+ * @param originNodeId the node that made the change, it ignores its own messages
+ * @param cacheName    the name of the cache
+ * @param key          the changed key, {@code null} when the whole cache was cleared
+ */
+public record CacheInvalidationMessage(String originNodeId, String cacheName, Object key) implements Serializable {
+}
@@ -0,0 +1,104 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link SharedCacheTier} living in the current JVM, for tests, where several
+ * {@link TwoTierCacheManager}s sharing one instance behave like replicas sharing one store, and
+ * for a single node that opts in with {@code cache.shared.in-process}. Messages are delivered synchronously on the publishing thread.
+ * <p>
+ * Each cache holds at most {@code maxEntriesPerCache} entries, every entry expires after the
+ * time to live it was put with.
+ */
+public class InProcessSharedCacheTier implements SharedCacheTier {
+
+    private static final long DEFAULT_MAX_ENTRIES_PER_CACHE = 10_000;
+
+    private final long maxEntriesPerCache;
+    private final Ticker ticker;
+    private final Map<String, Cache<Object, SharedEntry>> caches = new ConcurrentHashMap<>();
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    public InProcessSharedCacheTier() {
+        this(DEFAULT_MAX_ENTRIES_PER_CACHE, Ticker.systemTicker());
+    }
+
+    public InProcessSharedCacheTier(long maxEntriesPerCache, Ticker ticker) {
+        this.maxEntriesPerCache = maxEntriesPerCache;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        Cache<Object, SharedEntry> cache = caches.get(cacheName);
+        SharedEntry entry = cache == null ? null : cache.getIfPresent(key);
+        return entry == null ? null : entry.value();
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+        caches.computeIfAbsent(cacheName, _ -> newCache()).put(key, new SharedEntry(value, timeToLive.toNanos()));
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        Cache<Object, SharedEntry> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        caches.remove(cacheName);
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    private Cache<Object, SharedEntry> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntriesPerCache)
+                .ticker(ticker)
+                .expireAfter(new Expiry<Object, SharedEntry>() {
+                    @Override
+                    public long expireAfterCreate(Object key, SharedEntry entry, long currentTime) {
+                        return entry.timeToLiveNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, SharedEntry entry, long currentTime,
+                            long currentDuration) {
+                        return entry.timeToLiveNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, SharedEntry entry, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private record SharedEntry(Object value, long timeToLiveNanos) {
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Second cache tier shared by all the replicas, plus the channel used to broadcast
+ * invalidations. Implementations backed by a remote store have to serialize the values,
+ * the values of the caches listed in {@code cache.shared.cache-names} are
+ * {@link java.io.Serializable}.
+ */
+public interface SharedCacheTier {
+
+    /**
+     * @return the shared value, {@code null} if absent
+     */
+    Object get(String cacheName, Object key);
+
+    /**
+     * Store a value that expires after {@code timeToLive}, the same TTL as the local caches
+     * of that name, so a local miss never brings back a value older than the local spec allows
+     */
+    void put(String cacheName, Object key, Object value, Duration timeToLive);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+
+    /**
+     * Deliver a message to the subscribers of every node, this one included
+     */
+    void publish(CacheInvalidationMessage message);
+
+    void subscribe(Consumer<CacheInvalidationMessage> listener);
+
+}
@@ -0,0 +1,59 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+import java.time.Duration;
+
+/**
+ * Loader of a local cache layered over the {@link SharedCacheTier}. A local miss is answered from
+ * the shared tier when it has the key, and what the delegate loads is written through. Reloads
+ * triggered by {@code refreshAfterWrite} always go to the delegate, write the fresh value
+ * through and tell the other nodes to drop their local copy, which they then fill again from
+ * the shared tier.
+ */
+public class SharedTierCacheLoader implements CacheLoader<Object, Object> {
+
+    private final CacheLoader<Object, Object> delegate;
+    private final SharedCacheTier sharedTier;
+    private final String cacheName;
+    private final Duration timeToLive;
+    private final String nodeId;
+
+    /**
+     * @param nodeId the ID of this node, the same as its {@link TwoTierCacheManager}'s so that
+     *               the node keeps the value it just reloaded
+     */
+    public SharedTierCacheLoader(CacheLoader<Object, Object> delegate, SharedCacheTier sharedTier,
+            String cacheName, Duration timeToLive, String nodeId) {
+        this.delegate = delegate;
+        this.sharedTier = sharedTier;
+        this.cacheName = cacheName;
+        this.timeToLive = timeToLive;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public Object load(Object key) throws Exception {
+        Object sharedValue = sharedTier.get(cacheName, key);
+        if (sharedValue != null) {
+            return sharedValue;
+        }
+        return loadAndShare(key);
+    }
+
+    @Override
+    public Object reload(Object key, Object oldValue) throws Exception {
+        Object value = loadAndShare(key);
+        sharedTier.publish(new CacheInvalidationMessage(nodeId, cacheName, key));
+        return value;
+    }
+
+    private Object loadAndShare(Object key) throws Exception {
+        Object value = delegate.load(key);
+        if (value != null) {
+            sharedTier.put(cacheName, key, value, timeToLive);
+        }
+        return value;
+    }
+
+}
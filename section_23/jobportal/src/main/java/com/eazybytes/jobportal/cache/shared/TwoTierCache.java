@@ -0,0 +1,136 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * A local near-cache in front of the {@link SharedCacheTier}. Reads are served locally,
+ * a local miss is filled from the shared tier and only then from the loader. Writes go to
+ * both tiers and every other node is told to drop its local copy. Shared entries expire after
+ * the TTL of the local cache, a local copy filled from the shared tier starts a new local TTL,
+ * so a value is served at most two TTLs after it was loaded.
+ */
+public class TwoTierCache implements Cache {
+
+    private final Cache localCache;
+    private final SharedCacheTier sharedTier;
+    private final Duration timeToLive;
+    private final String nodeId;
+
+    public TwoTierCache(Cache localCache, SharedCacheTier sharedTier, Duration timeToLive, String nodeId) {
+        this.localCache = localCache;
+        this.sharedTier = sharedTier;
+        this.timeToLive = timeToLive;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return localCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper localValue = localCache.get(key);
+        if (localValue != null) {
+            return localValue;
+        }
+        Object sharedValue = sharedTier.get(getName(), key);
+        if (sharedValue == null) {
+            return null;
+        }
+        localCache.put(key, sharedValue);
+        return localCache.get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null || value.get() == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: "
+                    + value.get());
+        }
+        return (T) value.get();
+    }
+
+    // The local cache runs at most one loader per key, the shared tier is read inside it
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return localCache.get(key, () -> {
+            Object sharedValue = sharedTier.get(getName(), key);
+            if (sharedValue != null) {
+                return (T) sharedValue;
+            }
+            T value = valueLoader.call();
+            if (value != null) {
+                sharedTier.put(getName(), key, value, timeToLive);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        localCache.put(key, value);
+        if (value != null) {
+            sharedTier.put(getName(), key, value, timeToLive);
+        } else {
+            sharedTier.evict(getName(), key);
+        }
+        sharedTier.publish(new CacheInvalidationMessage(nodeId, getName(), key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        localCache.evict(key);
+        sharedTier.evict(getName(), key);
+        sharedTier.publish(new CacheInvalidationMessage(nodeId, getName(), key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = localCache.evictIfPresent(key);
+        sharedTier.evict(getName(), key);
+        sharedTier.publish(new CacheInvalidationMessage(nodeId, getName(), key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        localCache.clear();
+        sharedTier.clear(getName());
+        sharedTier.publish(new CacheInvalidationMessage(nodeId, getName(), null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = localCache.invalidate();
+        sharedTier.clear(getName());
+        sharedTier.publish(new CacheInvalidationMessage(nodeId, getName(), null));
+        return notEmpty;
+    }
+
+    /**
+     * Apply an invalidation made by another node, only the local copy is dropped
+     */
+    void onInvalidation(CacheInvalidationMessage message) {
+        if (message.key() == null) {
+            localCache.clear();
+        } else {
+            localCache.evict(message.key());
+        }
+    }
+
+}
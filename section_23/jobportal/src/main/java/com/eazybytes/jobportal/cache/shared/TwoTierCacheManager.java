@@ -0,0 +1,69 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link org.springframework.cache.CacheManager} layering the local caches of this node over a
+ * {@link SharedCacheTier}. Replicas stay consistent through the invalidation messages of the
+ * shared tier, and a cold replica fills its local caches from the shared tier instead of the
+ * database.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final Collection<? extends Cache> localCaches;
+    private final Map<String, Duration> sharedCacheTtls;
+    private final SharedCacheTier sharedTier;
+    private final String nodeId;
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param localCaches      the caches of this node
+     * @param sharedCacheTtls  the caches to layer over the shared tier with the TTL of their local
+     *                         entries, which the shared entries get too. The other caches stay local.
+     * @param sharedTier       the tier shared by all the nodes
+     * @param nodeId           unique ID of this node
+     */
+    public TwoTierCacheManager(Collection<? extends Cache> localCaches, Map<String, Duration> sharedCacheTtls,
+            SharedCacheTier sharedTier, String nodeId) {
+        this.localCaches = localCaches;
+        this.sharedCacheTtls = sharedCacheTtls;
+        this.sharedTier = sharedTier;
+        this.nodeId = nodeId;
+        sharedTier.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (Cache localCache : localCaches) {
+            Duration timeToLive = sharedCacheTtls.get(localCache.getName());
+            if (timeToLive != null) {
+                TwoTierCache twoTierCache = new TwoTierCache(localCache, sharedTier, timeToLive, nodeId);
+                twoTierCaches.put(twoTierCache.getName(), twoTierCache);
+                caches.add(twoTierCache);
+            } else {
+                caches.add(localCache);
+            }
+        }
+        return caches;
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.originNodeId())) {
+            return;
+        }
+        TwoTierCache cache = twoTierCaches.get(message.cacheName());
+        if (cache != null) {
+            cache.onInvalidation(message);
+        }
+    }
+
+}
@@ -1,11 +1,13 @@
 package com.eazybytes.jobportal.company.controller;
 
 import com.eazybytes.jobportal.company.service.ICompanyService;
+import com.eazybytes.jobportal.dto.BulkImportResultDto;
 import com.eazybytes.jobportal.dto.CompanyDto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -26,10 +29,11 @@ public class CompanyController {
     private final ICompanyService companyService;
 
     @GetMapping(path = "/public", version = "1.0")
-    public ResponseEntity<List<CompanyDto>> getAllCompanies() {
-        List<CompanyDto> companyList = companyService.getAllCompanies();
+    public ResponseEntity<byte[]> getAllCompanies() {
+        // Pre-serialized catalog, written to the response without going through Jackson
+        byte[] companiesJson = companyService.getAllCompaniesJson();
         // throw new RuntimeException("Exception occurred");
-        return ResponseEntity.ok().body(companyList);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(companiesJson);
     }
 
     @PostMapping(path = "/admin", version = "1.0")
@@ -44,6 +48,13 @@ public class CompanyController {
         }
     }
 
+    // The request body is read as the rows are inserted, never buffered whole
+    @PostMapping(path = "/import/admin", version = "1.0", consumes = "text/csv")
+    public ResponseEntity<BulkImportResultDto> importCompanies(InputStream csv) {
+        long imported = companyService.importCompanies(csv);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new BulkImportResultDto(imported));
+    }
+
     @GetMapping(path = "/admin", version = "1.0")
     public ResponseEntity<List<CompanyDto>> getAllCompaniesForAdmin() {
         List<CompanyDto> companyList = companyService.getAllCompaniesForAdmin();
@@ -4,12 +4,20 @@ import com.eazybytes.jobportal.dto.CompanyDto;
 import com.eazybytes.jobportal.dto.ContactRequestDto;
 import com.eazybytes.jobportal.entity.Company;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface ICompanyService {
 
     List<CompanyDto> getAllCompanies();
 
+    /**
+     * The public company catalog already serialized to JSON
+     *
+     * @return the cached JSON bytes, must not be modified
+     */
+    byte[] getAllCompaniesJson();
+
     List<CompanyDto> getAllCompaniesForAdmin();
 
     void deleteCompanyById(Long id);
@@ -18,4 +26,14 @@ public interface ICompanyService {
 
     boolean createCompany(CompanyDto companyDto);
 
+    /**
+     * Import companies from CSV, streamed into batched inserts so the file is never held in memory.
+     * The first record names the columns: name, logo, industry, size, rating, locations, founded,
+     * description, employees and website, in any order. Nothing is imported if any record is invalid.
+     *
+     * @param csv the UTF-8 encoded CSV content
+     * @return the number of companies imported
+     */
+    long importCompanies(InputStream csv);
+
 }
@@ -1,38 +1,69 @@
 package com.eazybytes.jobportal.company.service.impl;
 
+import com.eazybytes.jobportal.aspects.RecordLatency;
+import com.eazybytes.jobportal.cache.CompanyCatalogCache;
 import com.eazybytes.jobportal.company.service.ICompanyService;
 import com.eazybytes.jobportal.constants.ApplicationConstants;
 import com.eazybytes.jobportal.dto.CompanyDto;
-import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.entity.Company;
-import com.eazybytes.jobportal.entity.Job;
+import com.eazybytes.jobportal.events.CompanyDeletedEvent;
+import com.eazybytes.jobportal.events.CompanyUpdatedEvent;
+import com.eazybytes.jobportal.repository.BulkInsertRepository;
 import com.eazybytes.jobportal.repository.CompanyRepository;
-import com.eazybytes.jobportal.company.service.ICompanyService;
 import com.eazybytes.jobportal.util.ApplicationUtility;
+import com.eazybytes.jobportal.util.CsvRecordReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
+@RecordLatency
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CompanyServiceImpl implements ICompanyService {
 
+    // Columns of the import file, in the order of the CompanyDto components they fill
+    private static final List<String> CSV_COLUMNS = List.of("name", "logo", "industry", "size", "rating",
+            "locations", "founded", "description", "employees", "website");
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
     private final CompanyRepository companyRepository;
+    private final CompanyCatalogCache companyCatalogCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final Validator validator;
 
     @Override
     public List<CompanyDto> getAllCompanies() {
-        List<Company> companyList =companyRepository.fetchCompaniesWithJobsByStatus(ApplicationConstants.ACTIVE_STATUS);
-        return companyList.stream().map(this::transformCompanyToDto).collect(Collectors.toList());
+        return companyCatalogCache.getCatalog(ApplicationConstants.ACTIVE_STATUS).companies();
+    }
+
+    @Override
+    public byte[] getAllCompaniesJson() {
+        return companyCatalogCache.getCatalog(ApplicationConstants.ACTIVE_STATUS).json();
     }
 
-    @Cacheable("companies")
+    @Cacheable(value = "companies", sync = true)
     @Override
     public List<CompanyDto> getAllCompaniesForAdmin() {
         List<Company> companyList =companyRepository.findAll();
@@ -43,6 +74,7 @@ public class CompanyServiceImpl implements ICompanyService {
     @Override
     public void deleteCompanyById(Long id) {
         companyRepository.deleteById(id);
+        eventPublisher.publishEvent(new CompanyDeletedEvent(id));
     }
 
     @Transactional
@@ -54,6 +86,9 @@ public class CompanyServiceImpl implements ICompanyService {
                 companyDto.locations(),companyDto.founded(),companyDto.description(),
                 companyDto.employees(),companyDto.website()
         );
+        if (updatedRecords > 0) {
+            eventPublisher.publishEvent(new CompanyUpdatedEvent(id, companyDto.name(), companyDto.logo()));
+        }
         return updatedRecords > 0;
     }
 
@@ -65,14 +100,64 @@ public class CompanyServiceImpl implements ICompanyService {
         return savedCompany.getId() != null && savedCompany.getId() > 0;
     }
 
-    private CompanyDto transformCompanyToDto(Company company) {
-        List<JobDto> jobDtos = company.getJobs().stream()
-                .map(job -> ApplicationUtility.transformJobToDto(job))
-                .collect(Collectors.toList());
-        return new CompanyDto(company.getId(), company.getName(), company.getLogo(),
-                company.getIndustry(), company.getSize(), company.getRating(),
-                company.getLocations(), company.getFounded(), company.getDescription(),
-                company.getEmployees(), company.getWebsite(), company.getCreatedAt(),jobDtos);
+    @Transactional
+    @CacheEvict(value = "companies", allEntries = true)
+    @Override
+    public long importCompanies(InputStream csv) {
+        try (CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new RuntimeException("The CSV file is empty");
+            }
+            // Excel saves UTF-8 CSV with a byte order mark, it would stick to the first column name
+            if (header.getFirst().startsWith(BYTE_ORDER_MARK)) {
+                header.set(0, header.getFirst().substring(1));
+            }
+            List<String> headerNames = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            int[] columns = new int[CSV_COLUMNS.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = headerNames.indexOf(CSV_COLUMNS.get(i));
+                if (columns[i] < 0) {
+                    throw new RuntimeException("Missing CSV column: " + CSV_COLUMNS.get(i));
+                }
+            }
+            // Entity listeners do not run for the stateless inserts, the audit columns are set here
+            String createdBy = ApplicationUtility.getLoggedInUser();
+            Instant createdAt = Instant.now();
+            AtomicLong recordNumber = new AtomicLong();
+            return bulkInsertRepository.insertAll(reader.records().map(fields -> {
+                Company company = transformCompanyDtoToEntity(
+                        toValidatedCompanyDto(fields, columns, recordNumber.incrementAndGet()));
+                company.setCreatedBy(createdBy);
+                company.setCreatedAt(createdAt);
+                return company;
+            }));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private CompanyDto toValidatedCompanyDto(List<String> fields, int[] columns, long recordNumber) {
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String value = columns[i] < fields.size() ? fields.get(columns[i]).trim() : "";
+            values[i] = value.isEmpty() ? null : value;
+        }
+        CompanyDto companyDto;
+        try {
+            companyDto = new CompanyDto(null, values[0], values[1], values[2], values[3],
+                    values[4] == null ? null : new BigDecimal(values[4]), values[5],
+                    values[6] == null ? null : Integer.valueOf(values[6]), values[7],
+                    values[8] == null ? null : Integer.valueOf(values[8]), values[9], null, null);
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException("Company " + recordNumber + ": rating, founded and employees must be numbers");
+        }
+        Set<ConstraintViolation<CompanyDto>> violations = validator.validate(companyDto);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException("Company " + recordNumber + ": " + violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+        }
+        return companyDto;
     }
 
     private Company transformCompanyDtoToEntity(CompanyDto companyDto) {
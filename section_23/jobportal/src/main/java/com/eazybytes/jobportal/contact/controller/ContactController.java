@@ -4,7 +4,10 @@ import com.eazybytes.jobportal.constants.ApplicationConstants;
 import com.eazybytes.jobportal.contact.service.IContactService;
 import com.eazybytes.jobportal.dto.ContactRequestDto;
 import com.eazybytes.jobportal.dto.ContactResponseDto;
+import com.eazybytes.jobportal.dto.CursorPageDto;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
@@ -62,6 +65,16 @@ public class ContactController {
         return ResponseEntity.status(HttpStatus.OK).body(contactResponseDtoPage);
     }
 
+    @GetMapping("/scroll/admin")
+    public ResponseEntity<CursorPageDto<ContactResponseDto>> fetchNewContactMsgsWithKeyset(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int pageSize,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageDto<ContactResponseDto> contactWindow = contactService
+                .fetchNewContactMsgsWithKeyset(cursor, pageSize, includeTotal);
+        return ResponseEntity.status(HttpStatus.OK).body(contactWindow);
+    }
+
     @PatchMapping("/{id}/status/admin")
     public ResponseEntity<String> closeContactMsg(@PathVariable String id)  {
         boolean isUpdated = contactService.closeContactMsg(Long.valueOf(id),
@@ -2,6 +2,7 @@ package com.eazybytes.jobportal.contact.service;
 
 import com.eazybytes.jobportal.dto.ContactRequestDto;
 import com.eazybytes.jobportal.dto.ContactResponseDto;
+import com.eazybytes.jobportal.dto.CursorPageDto;
 import org.springframework.data.domain.Page;
 
 import java.io.IOException;
@@ -18,6 +19,9 @@ public interface IContactService {
     Page<ContactResponseDto> fetchNewContactMsgsWithPaginationAndSort(int pageNumber, int pageSize,
             String sortBy, String sortDir);
 
+    CursorPageDto<ContactResponseDto> fetchNewContactMsgsWithKeyset(String cursor, int pageSize,
+            boolean includeTotal);
+
     boolean closeContactMsg(Long id, String status);
 
 }
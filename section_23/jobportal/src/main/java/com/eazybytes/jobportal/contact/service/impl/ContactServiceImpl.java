@@ -1,18 +1,23 @@
 package com.eazybytes.jobportal.contact.service.impl;
 
+import com.eazybytes.jobportal.aspects.RecordLatency;
 import com.eazybytes.jobportal.constants.ApplicationConstants;
 import com.eazybytes.jobportal.contact.service.IContactService;
 import com.eazybytes.jobportal.dto.ContactRequestDto;
 import com.eazybytes.jobportal.dto.ContactResponseDto;
+import com.eazybytes.jobportal.dto.CursorPageDto;
 import com.eazybytes.jobportal.entity.Contact;
 import com.eazybytes.jobportal.repository.ContactRepository;
 import com.eazybytes.jobportal.util.ApplicationUtility;
+import com.eazybytes.jobportal.util.ScrollCursorUtility;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +28,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@RecordLatency
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ContactServiceImpl implements IContactService {
@@ -82,6 +88,24 @@ public class ContactServiceImpl implements IContactService {
         return responseDtoPage;
     }
 
+    @Override
+    public CursorPageDto<ContactResponseDto> fetchNewContactMsgsWithKeyset(String cursor, int pageSize,
+            boolean includeTotal) {
+        // Seek past the last (createdAt, id) of the previous window instead of skipping OFFSET rows
+        Window<Contact> window = contactRepository.findContactsByStatusOrderByCreatedAtAscIdAsc(
+                ApplicationConstants.NEW_MESSAGE, ScrollCursorUtility.decode(cursor, "createdAt"),
+                Limit.of(pageSize));
+        List<Contact> contacts = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !contacts.isEmpty()) {
+            Contact last = contacts.getLast();
+            nextCursor = ScrollCursorUtility.encode(last.getCreatedAt(), last.getId());
+        }
+        Long totalElements = includeTotal ? contactRepository.countByStatus(ApplicationConstants.NEW_MESSAGE) : null;
+        return new CursorPageDto<>(contacts.stream().map(this::transformToDto).collect(Collectors.toList()),
+                pageSize, window.hasNext(), nextCursor, totalElements);
+    }
+
     @Transactional
     @Override
     public boolean closeContactMsg(Long id, String status) {
@@ -0,0 +1,9 @@
+package com.eazybytes.jobportal.dto;
+
+/**
+ * Outcome of a bulk import, which either inserts every record or none.
+ *
+ * @param imported number of rows inserted
+ */
+public record BulkImportResultDto(long imported) {
+}
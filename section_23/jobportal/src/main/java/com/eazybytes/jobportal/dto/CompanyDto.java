@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.hibernate.validator.constraints.Range;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
@@ -45,5 +46,11 @@ public record CompanyDto(
                          @NotBlank(message = "Website can not be empty")
                          String website,
 
-                         Instant createdAt, List<JobDto> jobs) {
+                         Instant createdAt, List<JobDto> jobs) implements Serializable {
+
+    public CompanyDto withJobs(List<JobDto> jobs) {
+        return new CompanyDto(id, name, logo, industry, size, rating, locations, founded, description,
+                employees, website, createdAt, jobs);
+    }
+
 }
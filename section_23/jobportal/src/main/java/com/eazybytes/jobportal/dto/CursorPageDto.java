@@ -0,0 +1,19 @@
+package com.eazybytes.jobportal.dto;
+
+import java.util.List;
+
+/**
+ * One window of a keyset (seek) paginated list.
+ *
+ * @param nextCursor    opaque token to pass back as {@code cursor} for the next window,
+ *                      {@code null} when there is no next window
+ * @param totalElements total number of elements, only computed when requested
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long totalElements
+) {
+}
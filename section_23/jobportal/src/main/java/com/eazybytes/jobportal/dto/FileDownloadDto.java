@@ -0,0 +1,11 @@
+package com.eazybytes.jobportal.dto;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A file ready to be streamed to the client.
+ *
+ * @param hash the content hash used as ETag, null for content not yet moved to the file store
+ */
+public record FileDownloadDto(Resource resource, String fileName, String contentType, String hash) {
+}
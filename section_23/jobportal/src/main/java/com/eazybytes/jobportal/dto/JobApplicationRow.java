@@ -0,0 +1,47 @@
+package com.eazybytes.jobportal.dto;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of an application, its applicant's profile and its job, filled by a single
+ * JPQL constructor expression. The profile columns are null when the applicant has none,
+ * {@link #toDto(JobDto)} then leaves the profile out.
+ */
+public record JobApplicationRow(
+        Long id,
+        Long userId,
+        String userName,
+        String userEmail,
+        String userMobileNumber,
+        Long profileId,
+        String profileJobTitle,
+        String profileLocation,
+        String profileExperienceLevel,
+        String profileProfessionalBio,
+        String profilePortfolioWebsite,
+        String profilePictureName,
+        String profilePictureType,
+        String profileResumeName,
+        String profileResumeType,
+        Instant profileCreatedAt,
+        Instant profileUpdatedAt,
+        JobDto job,
+        Instant appliedAt,
+        String status,
+        String coverLetter,
+        String notes
+) {
+
+    /**
+     * @param job the job to embed, {@link #job()} or an updated copy of it
+     */
+    public JobApplicationDto toDto(JobDto job) {
+        ProfileDto profile = profileId == null ? null : new ProfileDto(profileId, userId, profileJobTitle,
+                profileLocation, profileExperienceLevel, profileProfessionalBio, profilePortfolioWebsite,
+                null, profilePictureName, profilePictureType, null, profileResumeName, profileResumeType,
+                profileCreatedAt, profileUpdatedAt);
+        return new JobApplicationDto(id, userId, userName, userEmail, userMobileNumber, profile, job,
+                appliedAt, status, coverLetter, notes);
+    }
+
+}
@@ -61,4 +61,19 @@ public record JobDto(
         Boolean remote,
         String status
 ) implements Serializable {
+
+    public JobDto withApplicationsCount(Integer applicationsCount) {
+        return new JobDto(id, title, companyId, companyName, companyLogo, location, workType, jobType,
+                category, experienceLevel, salaryMin, salaryMax, salaryCurrency, salaryPeriod,
+                description, requirements, benefits, postedDate, applicationDeadline,
+                applicationsCount, featured, urgent, remote, status);
+    }
+
+    public JobDto withCompany(String companyName, String companyLogo) {
+        return new JobDto(id, title, companyId, companyName, companyLogo, location, workType, jobType,
+                category, experienceLevel, salaryMin, salaryMax, salaryCurrency, salaryPeriod,
+                description, requirements, benefits, postedDate, applicationDeadline,
+                applicationsCount, featured, urgent, remote, status);
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.eazybytes.jobportal.dto;
+
+import java.util.Map;
+
+/**
+ * @param totalJobs number of ACTIVE jobs matching every selection
+ * @param facets    per facet column, the number of matching jobs for each distinct value
+ */
+public record JobFacetsDto(
+        int totalJobs,
+        Map<String, Map<String, Integer>> facets
+) {
+}
@@ -0,0 +1,13 @@
+package com.eazybytes.jobportal.dto;
+
+import java.util.List;
+
+public record JobSearchResponseDto(
+        List<JobDto> jobs,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages,
+        JobFacetsDto facets
+) {
+}
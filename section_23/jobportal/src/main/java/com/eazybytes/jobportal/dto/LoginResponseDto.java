@@ -1,4 +1,4 @@
 package com.eazybytes.jobportal.dto;
 
-public record LoginResponseDto(String message, UserDto user, String jwtToken) {
+public record LoginResponseDto(String message, UserDto user, String jwtToken, String refreshToken) {
 }
@@ -0,0 +1,6 @@
+package com.eazybytes.jobportal.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDto(@NotBlank(message = "Refresh token is required") String refreshToken) {
+}
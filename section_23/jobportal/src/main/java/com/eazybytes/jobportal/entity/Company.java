@@ -13,6 +13,7 @@ import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
@@ -52,8 +53,11 @@ import java.util.List;
 })
 public class Company extends BaseEntity {
 
+    // Pooled so bulk imports can batch their INSERTs, see BulkInsertRepository
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "companies_id")
+    @TableGenerator(name = "companies_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "companies", allocationSize = 50)
     @Column(name = "ID", nullable = false)
     private Long id;
 
@@ -19,8 +19,11 @@ import java.util.Set;
 @Entity
 @Table(name = "jobs")
 public class Job extends BaseEntity {
+    // Pooled so bulk imports can batch their INSERTs, see BulkInsertRepository
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "jobs_id")
+    @TableGenerator(name = "jobs_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "jobs", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -101,8 +104,9 @@ public class Job extends BaseEntity {
     @Column(name = "application_deadline")
     private Instant applicationDeadline;
 
+    // Maintained by ApplicationsCounter with relative updates, entity updates must not write back a stale value
     @ColumnDefault("0")
-    @Column(name = "applications_count")
+    @Column(name = "applications_count", updatable = false)
     private Integer applicationsCount;
 
     @ColumnDefault("0")
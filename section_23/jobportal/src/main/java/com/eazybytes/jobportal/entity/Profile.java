@@ -2,6 +2,7 @@ package com.eazybytes.jobportal.entity;
 
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -56,9 +57,20 @@ public class Profile extends BaseEntity {
     @Column(name = "portfolio_website", length = 500)
     private String portfolioWebsite;
 
+    /*
+    The BLOB columns are lazy basic attributes (requires bytecode enhancement, see pom.xml).
+    Loading a Profile to list applicants no longer selects the files, they are only
+    fetched when the getter is called.
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "profile_picture")
     private byte[] profilePicture;
 
+    // SHA-256 of the file in the FileStorageService, profile_picture is only kept for unmigrated rows
+    @Size(max = 64)
+    @Column(name = "profile_picture_hash", length = 64)
+    private String profilePictureHash;
+
     @Size(max = 255)
     @Column(name = "profile_picture_name")
     private String profilePictureName;
@@ -67,9 +79,14 @@ public class Profile extends BaseEntity {
     @Column(name = "profile_picture_type", length = 100)
     private String profilePictureType;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "resume")
     private byte[] resume;
 
+    @Size(max = 64)
+    @Column(name = "resume_hash", length = 64)
+    private String resumeHash;
+
     @Size(max = 255)
     @Column(name = "resume_name")
     private String resumeName;
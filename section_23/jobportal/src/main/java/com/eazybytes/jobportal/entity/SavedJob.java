@@ -0,0 +1,22 @@
+package com.eazybytes.jobportal.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A row of the {@code saved_jobs} join table, mapped on its own so that saving or unsaving
+ * a job touches that row only and never initializes {@link JobPortalUser#getSavedJobs()}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "saved_jobs")
+public class SavedJob {
+
+    @EmbeddedId
+    private SavedJobId id;
+
+}
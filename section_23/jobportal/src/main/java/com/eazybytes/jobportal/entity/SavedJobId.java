@@ -0,0 +1,16 @@
+package com.eazybytes.jobportal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+@Embeddable
+public record SavedJobId(
+        @Column(name = "user_id", nullable = false)
+        Long userId,
+
+        @Column(name = "job_id", nullable = false)
+        Long jobId
+) implements Serializable {
+}
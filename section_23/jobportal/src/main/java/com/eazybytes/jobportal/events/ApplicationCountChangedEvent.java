@@ -0,0 +1,8 @@
+package com.eazybytes.jobportal.events;
+
+/**
+ * @param jobId the job whose applications count changed
+ * @param delta +1 for a new application, -1 for a withdrawn one
+ */
+public record ApplicationCountChangedEvent(Long jobId, int delta) implements JobCatalogEvent {
+}
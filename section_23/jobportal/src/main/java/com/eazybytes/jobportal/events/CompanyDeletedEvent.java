@@ -0,0 +1,4 @@
+package com.eazybytes.jobportal.events;
+
+public record CompanyDeletedEvent(Long companyId) implements JobCatalogEvent {
+}
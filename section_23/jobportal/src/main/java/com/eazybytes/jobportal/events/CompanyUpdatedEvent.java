@@ -0,0 +1,7 @@
+package com.eazybytes.jobportal.events;
+
+/**
+ * The details of a company were edited. Jobs only carry the name and logo.
+ */
+public record CompanyUpdatedEvent(Long companyId, String name, String logo) implements JobCatalogEvent {
+}
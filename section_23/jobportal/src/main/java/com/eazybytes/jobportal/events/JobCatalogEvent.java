@@ -0,0 +1,10 @@
+package com.eazybytes.jobportal.events;
+
+/**
+ * Domain events describing a change to the public job catalog. They are published inside
+ * the service transaction and delivered to the {@link JobCatalogReadModel}s only after commit.
+ */
+public sealed interface JobCatalogEvent
+        permits JobCreatedEvent, JobStatusChangedEvent, CompanyUpdatedEvent, CompanyDeletedEvent,
+        ApplicationCountChangedEvent {
+}
@@ -0,0 +1,87 @@
+package com.eazybytes.jobportal.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects committed {@link JobCatalogEvent}s and applies them to every
+ * {@link JobCatalogReadModel} on a single background thread.
+ * <p>
+ * The first event after an idle period schedules a drain {@code batch-delay-ms} later,
+ * every event arriving in that window joins the same batch. A burst of applications
+ * therefore costs one read model update instead of one per request, while the read
+ * models still converge well under a second after commit.
+ */
+@Component
+@Slf4j
+public class JobCatalogEventPipeline {
+
+    private final List<JobCatalogReadModel> readModels;
+    private final long batchDelayMs;
+    private final int maxBatchSize;
+    private final ConcurrentLinkedQueue<JobCatalogEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("catalog-events").daemon(true).factory());
+
+    public JobCatalogEventPipeline(List<JobCatalogReadModel> readModels,
+            @Value("${catalog.events.batch-delay-ms:50}") long batchDelayMs,
+            @Value("${catalog.events.max-batch-size:500}") int maxBatchSize) {
+        this.readModels = readModels;
+        this.batchDelayMs = batchDelayMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogEvent(JobCatalogEvent event) {
+        pendingEvents.offer(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::drain, batchDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        List<JobCatalogEvent> batch = new ArrayList<>();
+        JobCatalogEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            batch.add(event);
+            if (batch.size() == maxBatchSize) {
+                publish(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    private void publish(List<JobCatalogEvent> batch) {
+        for (JobCatalogReadModel readModel : readModels) {
+            try {
+                readModel.apply(batch);
+            } catch (RuntimeException ex) {
+                log.error("Failed to apply {} catalog events to {}", batch.size(),
+                        readModel.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
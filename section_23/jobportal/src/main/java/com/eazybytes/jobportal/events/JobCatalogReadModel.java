@@ -0,0 +1,17 @@
+package com.eazybytes.jobportal.events;
+
+import java.util.List;
+
+/**
+ * A structure derived from the jobs table (search index, facets, caches...) that is kept up
+ * to date by applying small batches of committed {@link JobCatalogEvent}s.
+ */
+public interface JobCatalogReadModel {
+
+    /**
+     * Apply a batch of committed events, in commit order
+     * @param events the events collected since the previous batch
+     */
+    void apply(List<JobCatalogEvent> events);
+
+}
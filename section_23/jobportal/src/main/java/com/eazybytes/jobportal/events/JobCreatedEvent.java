@@ -0,0 +1,6 @@
+package com.eazybytes.jobportal.events;
+
+import com.eazybytes.jobportal.dto.JobDto;
+
+public record JobCreatedEvent(JobDto job) implements JobCatalogEvent {
+}
@@ -0,0 +1,9 @@
+package com.eazybytes.jobportal.events;
+
+import com.eazybytes.jobportal.dto.JobDto;
+
+/**
+ * @param previousStatus the status of the job before the change
+ */
+public record JobStatusChangedEvent(JobDto job, String previousStatus) implements JobCatalogEvent {
+}
@@ -0,0 +1,8 @@
+package com.eazybytes.jobportal.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(Throwable cause) {
+        super("Invalid cursor", cause);
+    }
+}
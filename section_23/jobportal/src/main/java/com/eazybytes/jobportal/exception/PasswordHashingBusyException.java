@@ -0,0 +1,11 @@
+package com.eazybytes.jobportal.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    // Seconds a client should wait before retrying
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    public PasswordHashingBusyException() {
+        super("Too many login or registration requests, please retry shortly");
+    }
+}
@@ -1,23 +1,33 @@
 package com.eazybytes.jobportal.job.controller;
 
 import com.eazybytes.jobportal.dto.ApplyJobRequestDto;
+import com.eazybytes.jobportal.dto.BulkImportResultDto;
+import com.eazybytes.jobportal.dto.CursorPageDto;
 import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.dto.UpdateJobApplicationDto;
 import com.eazybytes.jobportal.job.service.IJobService;
+import com.eazybytes.jobportal.security.JobPortalPrincipal;
+import com.eazybytes.jobportal.util.ApplicationUtility;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -29,33 +39,50 @@ public class JobController {
     private final IJobService jobService;
 
     @GetMapping(path = "/employer", version = "1.0")
-    public ResponseEntity<List<JobDto>> getEmployerJobs(Authentication authentication) {
-        String employerEmail = authentication.getName();
-        List<JobDto> jobs = jobService.getEmployerJobs(employerEmail);
+    public ResponseEntity<List<JobDto>> getEmployerJobs(@AuthenticationPrincipal JobPortalPrincipal principal) {
+        List<JobDto> jobs = jobService.getEmployerJobs(principal.requireCompanyId());
+        return ResponseEntity.ok(jobs);
+    }
+
+    @GetMapping(path = "/scroll/employer", version = "1.0")
+    public ResponseEntity<CursorPageDto<JobDto>> getEmployerJobsWithKeyset(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int pageSize,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        CursorPageDto<JobDto> jobs = jobService.getEmployerJobs(principal.requireCompanyId(), cursor, pageSize,
+                includeTotal);
         return ResponseEntity.ok(jobs);
     }
 
     @PostMapping(path = "/employer", version = "1.0")
-    public ResponseEntity<JobDto> createJob(@RequestBody @Valid JobDto jobDto, Authentication authentication) {
-        String employerEmail = authentication.getName();
-        JobDto createdJob = jobService.createJob(jobDto, employerEmail);
+    public ResponseEntity<JobDto> createJob(@RequestBody @Valid JobDto jobDto,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        JobDto createdJob = jobService.createJob(jobDto, principal.requireCompanyId());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdJob);
 
     }
 
+    // A JSON array of jobs, read element by element as the rows are inserted
+    @PostMapping(path = "/bulk/employer", version = "1.0", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResultDto> createJobs(InputStream jobsJson,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        long imported = jobService.createJobs(jobsJson, principal.requireCompanyId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new BulkImportResultDto(imported));
+    }
+
     @PatchMapping("/{jobId}/status/employer")
     public ResponseEntity<?> updateJobStatus(
             @PathVariable Long jobId,
             @RequestBody Map<String, String> requestBody,
-            Authentication authentication) {
-        String employerEmail = authentication.getName();
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
         String status = requestBody.get("status");
 
         if (status == null || status.trim().isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", "Status is required"));
         }
-        JobDto updatedJob = jobService.updateJobStatus(jobId, status.toUpperCase(), employerEmail);
+        JobDto updatedJob = jobService.updateJobStatus(jobId, status.toUpperCase(), principal.requireCompanyId());
         return ResponseEntity.ok(updatedJob);
     }
 
@@ -66,6 +93,31 @@ public class JobController {
         return ResponseEntity.ok(applications);
     }
 
+    @GetMapping("/applications/{jobId}/scroll/employer")
+    public ResponseEntity<CursorPageDto<JobApplicationDto>> getApplicationsByJobForEmployerWithKeyset(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int pageSize,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageDto<JobApplicationDto> applications = jobService.getApplicationsByJobForEmployer(
+                jobId, cursor, pageSize, includeTotal);
+        return ResponseEntity.ok(applications);
+    }
+
+    @GetMapping("/applications/{applicationId}/picture/employer")
+    public ResponseEntity<Resource> getApplicantProfilePicture(@PathVariable Long applicationId,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        return ApplicationUtility.buildFileResponse(
+                jobService.getApplicantProfilePicture(applicationId, principal.requireCompanyId()), false);
+    }
+
+    @GetMapping("/applications/{applicationId}/resume/employer")
+    public ResponseEntity<Resource> getApplicantResume(@PathVariable Long applicationId,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        return ApplicationUtility.buildFileResponse(
+                jobService.getApplicantResume(applicationId, principal.requireCompanyId()), true);
+    }
+
     @PatchMapping("/applications/employer")
     public ResponseEntity<String> updateJobApplication(
             @RequestBody @Valid UpdateJobApplicationDto updateJobApplicationDto) {
@@ -0,0 +1,187 @@
+package com.eazybytes.jobportal.job.counter;
+
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Keeps {@code jobs.applications_count} without making every apply and withdraw write the job row.
+ * <p>
+ * Deltas are added to a striped {@link LongAdder} per job once the transaction that created or
+ * removed the application commits, so concurrent applies to a popular job never contend on a row
+ * lock or overwrite each other. Every {@code flush-interval-ms} the pending deltas are drained and
+ * written with one relative {@code UPDATE ... SET applications_count = applications_count + ?} per
+ * job, all in a single transaction. Readers add the deltas that are not persisted yet on top of the
+ * value they loaded, see {@link #merge(JobDto)}.
+ * <p>
+ * A flush moves each delta from the pending to the flushing deltas under a write lock, so a
+ * reader adding both up sees it exactly once. The flushing delta is dropped as soon as the
+ * flush commits. A reader whose database read lands between that commit and the drop counts
+ * the delta twice until its next read, the interval is the time the committing thread takes
+ * to run its afterCommit callbacks.
+ * <p>
+ * Deltas still pending when the process dies are lost, at most one flush interval of them.
+ */
+@Component
+@Slf4j
+public class ApplicationsCounter {
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Adders are never removed, a removal could race with an add and drop it. One entry per job applied to.
+    private final ConcurrentHashMap<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    // Drained from pendingDeltas but not committed yet, still part of the merged count
+    private final ConcurrentHashMap<Long, Long> flushingDeltas = new ConcurrentHashMap<>();
+    // Write locked while deltas move between the two maps, readers validate an optimistic read
+    private final StampedLock moveLock = new StampedLock();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("applications-counter").daemon(true).factory());
+
+    public ApplicationsCounter(JobRepository jobRepository, TransactionTemplate transactionTemplate,
+            @Value("${jobs.applications-counter.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds {@code delta} to the applications count of a job. Inside a transaction the delta only
+     * counts once it commits, a rolled back apply leaves the count untouched.
+     */
+    public void add(Long jobId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingDelta(jobId).add(delta);
+                }
+            });
+        } else {
+            pendingDelta(jobId).add(delta);
+        }
+    }
+
+    /**
+     * @return the persisted count plus the deltas not written yet, never below zero
+     */
+    public int count(Long jobId, Integer persistedCount) {
+        long count = (persistedCount == null ? 0 : persistedCount) + unpersistedDelta(jobId);
+        return (int) Math.max(0, count);
+    }
+
+    /**
+     * @return the job with its applications count merged with the deltas not written yet
+     */
+    public JobDto merge(JobDto job) {
+        if (unpersistedDelta(job.id()) == 0) {
+            return job;
+        }
+        return job.withApplicationsCount(count(job.id(), job.applicationsCount()));
+    }
+
+    /**
+     * Writes the pending deltas. A failed flush puts them back, the next one retries. A flushed
+     * delta stops being merged right after the transaction commits.
+     */
+    public synchronized void flush() {
+        // Sorted by job id so replicas flushing the same jobs lock the rows in the same order
+        Map<Long, Long> batch = new TreeMap<>();
+        long stamp = moveLock.writeLock();
+        try {
+            pendingDeltas.forEach((jobId, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    // An add racing with the move stays pending, it is neither lost nor moved
+                    flushingDeltas.put(jobId, delta);
+                    adder.add(-delta);
+                    batch.put(jobId, delta);
+                }
+            });
+        } finally {
+            moveLock.unlockWrite(stamp);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(_ -> {
+                batch.forEach((jobId, delta) -> jobRepository.addToApplicationsCount(jobId, Math.toIntExact(delta)));
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        flushingDeltas.keySet().removeAll(batch.keySet());
+                    }
+                });
+            });
+        } catch (RuntimeException ex) {
+            stamp = moveLock.writeLock();
+            try {
+                batch.forEach((jobId, delta) -> {
+                    flushingDeltas.remove(jobId);
+                    pendingDelta(jobId).add(delta);
+                });
+            } finally {
+                moveLock.unlockWrite(stamp);
+            }
+            throw ex;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush applications counts, retrying on the next interval", ex);
+        }
+    }
+
+    private LongAdder pendingDelta(Long jobId) {
+        return pendingDeltas.computeIfAbsent(jobId, _ -> new LongAdder());
+    }
+
+    private long unpersistedDelta(Long jobId) {
+        long stamp = moveLock.tryOptimisticRead();
+        long delta = pendingAndFlushingDelta(jobId);
+        if (moveLock.validate(stamp)) {
+            return delta;
+        }
+        stamp = moveLock.readLock();
+        try {
+            return pendingAndFlushingDelta(jobId);
+        } finally {
+            moveLock.unlockRead(stamp);
+        }
+    }
+
+    private long pendingAndFlushingDelta(Long jobId) {
+        LongAdder pending = pendingDeltas.get(jobId);
+        return (pending == null ? 0 : pending.sum()) + flushingDeltas.getOrDefault(jobId, 0L);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+}
@@ -1,36 +1,60 @@
 package com.eazybytes.jobportal.job.service;
 
+import com.eazybytes.jobportal.dto.CursorPageDto;
 import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.dto.FileDownloadDto;
 import com.eazybytes.jobportal.dto.UpdateJobApplicationDto;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface IJobService {
 
     /**
      * Get all jobs posted by the employer's company
-     * @param employerEmail the email of the employer
+     * @param companyId the ID of the employer's company
      * @return list of jobs
      */
-    List<JobDto> getEmployerJobs(String employerEmail);
+    List<JobDto> getEmployerJobs(Long companyId);
+
+    /**
+     * Get one window of the jobs posted by the employer's company, newest first
+     * @param companyId the ID of the employer's company
+     * @param cursor the cursor returned with the previous window, null for the first window
+     * @param pageSize the maximum number of jobs to return
+     * @param includeTotal whether to also count all jobs of the company
+     * @return the window of jobs and the cursor of the next window
+     */
+    CursorPageDto<JobDto> getEmployerJobs(Long companyId, String cursor, int pageSize,
+            boolean includeTotal);
 
     /**
      * Update the status of a job
      * @param jobId the ID of the job
      * @param status the new status (ACTIVE, CLOSED, DRAFT)
-     * @param employerEmail the email of the employer making the request
+     * @param companyId the ID of the company of the employer making the request
      * @return updated JobDto
      */
-    JobDto updateJobStatus(Long jobId, String status, String employerEmail);
+    JobDto updateJobStatus(Long jobId, String status, Long companyId);
 
     /**
      * Create a new job for the employer's company
      * @param jobDto the job data
-     * @param employerEmail the email of the employer creating the job
+     * @param companyId the ID of the company of the employer creating the job
      * @return created JobDto
      */
-    JobDto createJob(JobDto jobDto, String employerEmail);
+    JobDto createJob(JobDto jobDto, Long companyId);
+
+    /**
+     * Create jobs in bulk for the employer's company, as DRAFT like {@link #createJob}. The JSON
+     * array is streamed into batched inserts, so its size is not bounded by memory. Nothing is
+     * created if any job is invalid.
+     * @param jobsJson a JSON array of jobs
+     * @param companyId the ID of the company of the employer creating the jobs
+     * @return the number of jobs created
+     */
+    long createJobs(InputStream jobsJson, Long companyId);
 
     /**
      * Retrieves a list of job applications submitted for a specific job
@@ -40,6 +64,36 @@ public interface IJobService {
      */
     List<JobApplicationDto> getApplicationsByJobForEmployer(Long jobId);
 
+    /**
+     * Retrieves one window of the applications submitted for a specific job, oldest first
+     *
+     * @param jobId the ID of the job for which applications need to be retrieved
+     * @param cursor the cursor returned with the previous window, null for the first window
+     * @param pageSize the maximum number of applications to return
+     * @param includeTotal whether to also count all applications of the job
+     * @return the window of applications and the cursor of the next window
+     */
+    CursorPageDto<JobApplicationDto> getApplicationsByJobForEmployer(Long jobId, String cursor,
+            int pageSize, boolean includeTotal);
+
+    /**
+     * Load the profile picture of one applicant
+     *
+     * @param applicationId the ID of the job application
+     * @param companyId the ID of the employer's company, must own the job applied for
+     * @return the picture to stream, null if the applicant has none
+     */
+    FileDownloadDto getApplicantProfilePicture(Long applicationId, Long companyId);
+
+    /**
+     * Load the resume of one applicant
+     *
+     * @param applicationId the ID of the job application
+     * @param companyId the ID of the employer's company, must own the job applied for
+     * @return the resume to stream, null if the applicant has none
+     */
+    FileDownloadDto getApplicantResume(Long applicationId, Long companyId);
+
     /**
      * Updates an existing job application with the provided details.
      *
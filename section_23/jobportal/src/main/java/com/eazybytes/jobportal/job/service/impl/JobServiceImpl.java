@@ -1,95 +1,190 @@
 package com.eazybytes.jobportal.job.service.impl;
 
+import com.eazybytes.jobportal.aspects.RecordLatency;
+import com.eazybytes.jobportal.dto.CursorPageDto;
+import com.eazybytes.jobportal.dto.FileDownloadDto;
 import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.dto.UpdateJobApplicationDto;
+import com.eazybytes.jobportal.entity.Company;
 import com.eazybytes.jobportal.entity.Job;
 import com.eazybytes.jobportal.entity.JobApplication;
-import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.entity.Profile;
+import com.eazybytes.jobportal.events.JobCreatedEvent;
+import com.eazybytes.jobportal.events.JobStatusChangedEvent;
+import com.eazybytes.jobportal.job.counter.ApplicationsCounter;
 import com.eazybytes.jobportal.job.service.IJobService;
+import com.eazybytes.jobportal.repository.BulkInsertRepository;
+import com.eazybytes.jobportal.repository.CompanyRepository;
 import com.eazybytes.jobportal.repository.JobApplicationRepository;
-import com.eazybytes.jobportal.repository.JobPortalUserRepository;
 import com.eazybytes.jobportal.repository.JobRepository;
+import com.eazybytes.jobportal.storage.ProfileFileService;
 import com.eazybytes.jobportal.util.ApplicationUtility;
+import com.eazybytes.jobportal.util.ScrollCursorUtility;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @Service
+@RecordLatency
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class JobServiceImpl implements IJobService {
 
     private final JobRepository jobRepository;
-    private final JobPortalUserRepository userRepository;
+    private final CompanyRepository companyRepository;
     private final JobApplicationRepository jobApplicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProfileFileService profileFileService;
+    private final ApplicationsCounter applicationsCounter;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
 
     @Override
-    public List<JobDto> getEmployerJobs(String employerEmail) {
-        JobPortalUser employer = userRepository.findJobPortalUserByEmail(employerEmail)
-                .orElseThrow(() -> new RuntimeException("Employer not found"));
+    public List<JobDto> getEmployerJobs(Long companyId) {
+        return jobRepository.findJobDtosByCompanyId(companyId).stream()
+                .map(applicationsCounter::merge)
+                .collect(Collectors.toList());
+    }
 
-        if (employer.getCompany() == null) {
-            throw new RuntimeException("Employer does not have a company assigned");
+    @Override
+    public CursorPageDto<JobDto> getEmployerJobs(Long companyId, String cursor, int pageSize,
+            boolean includeTotal) {
+        Window<Job> window = jobRepository.findByCompanyIdOrderByCreatedAtDescIdDesc(companyId,
+                ScrollCursorUtility.decode(cursor, "createdAt"), Limit.of(pageSize));
+        List<Job> jobs = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !jobs.isEmpty()) {
+            Job last = jobs.getLast();
+            nextCursor = ScrollCursorUtility.encode(last.getCreatedAt(), last.getId());
         }
-
-        List<Job> jobs = employer.getCompany().getJobs();
-        return jobs.stream()
-                .map(job -> ApplicationUtility.transformJobToDto(job))
-                .collect(Collectors.toList());
+        Long totalElements = includeTotal ? jobRepository.countByCompanyId(companyId) : null;
+        return new CursorPageDto<>(jobs.stream().map(ApplicationUtility::transformJobToDto)
+                .map(applicationsCounter::merge).collect(Collectors.toList()), pageSize, window.hasNext(), nextCursor, totalElements);
     }
 
     @Transactional
     @Override
-    public JobDto updateJobStatus(Long jobId, String status, String employerEmail) {
+    public JobDto updateJobStatus(Long jobId, String status, Long companyId) {
         // Validate status
         if (!status.equals("ACTIVE") && !status.equals("CLOSED") && !status.equals("DRAFT")) {
             throw new RuntimeException("Invalid status. Must be ACTIVE, CLOSED, or DRAFT");
         }
-        JobPortalUser employer = userRepository.findJobPortalUserByEmail(employerEmail)
-                .orElseThrow(() -> new RuntimeException("Employer not found"));
-
-        if (employer.getCompany() == null) {
-            throw new RuntimeException("Employer does not have a company assigned");
-        }
-        Job job = employer.getCompany().getJobs().stream().filter(j -> j.getId().equals(jobId)).findFirst()
+        Job job = jobRepository.findById(jobId)
+                .filter(j -> j.getCompany().getId().equals(companyId))
                 .orElseThrow(() -> new RuntimeException("Job not found"));
+        String previousStatus = job.getStatus();
         job.setStatus(status);
-        return ApplicationUtility.transformJobToDto(job);
+        JobDto updatedJob = applicationsCounter.merge(ApplicationUtility.transformJobToDto(job));
+        eventPublisher.publishEvent(new JobStatusChangedEvent(updatedJob, previousStatus));
+        return updatedJob;
     }
 
     @Override
     @Transactional
-    public JobDto createJob(JobDto jobDto, String employerEmail) {
-        // Validate employer and get their company
-        JobPortalUser employer = userRepository.findJobPortalUserByEmail(employerEmail)
-                .orElseThrow(() -> new RuntimeException("Employer not found"));
-        if (employer.getCompany() == null) {
-            throw new RuntimeException("Employer does not have a company assigned. Please contact admin.");
-        }
+    public JobDto createJob(JobDto jobDto, Long companyId) {
         Job job = tranformDtoToEntity(jobDto);
         job.setPostedDate(Instant.now());
         job.setApplicationsCount(0);
         job.setStatus("DRAFT");
-        job.setCompany(employer.getCompany());
+        job.setCompany(companyRepository.getReferenceById(companyId));
         Job savedJob = jobRepository.save(job);
-        return ApplicationUtility.transformJobToDto(savedJob);
+        JobDto createdJob = ApplicationUtility.transformJobToDto(savedJob);
+        eventPublisher.publishEvent(new JobCreatedEvent(createdJob));
+        return createdJob;
+    }
+
+    @Override
+    @Transactional
+    public long createJobs(InputStream jobsJson, Long companyId) {
+        Company company = companyRepository.getReferenceById(companyId);
+        // Entity listeners do not run for the stateless inserts, the audit columns are set here
+        String createdBy = ApplicationUtility.getLoggedInUser();
+        Instant now = Instant.now();
+        AtomicLong jobNumber = new AtomicLong();
+        // No JobCreatedEvent, DRAFT jobs are in none of the read models
+        try (MappingIterator<JobDto> jobDtos = jsonMapper.readerFor(JobDto.class).readValues(jobsJson)) {
+            return bulkInsertRepository.insertAll(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(jobDtos, Spliterator.ORDERED), false).map(jobDto -> {
+                // The ID comes from the pooled generator, never from the request
+                Job job = new Job();
+                BeanUtils.copyProperties(validated(jobDto, jobNumber.incrementAndGet()), job, "id");
+                job.setPostedDate(now);
+                job.setApplicationsCount(0);
+                job.setStatus("DRAFT");
+                job.setCompany(company);
+                job.setCreatedBy(createdBy);
+                job.setCreatedAt(now);
+                return job;
+            }));
+        }
     }
 
     @Override
     public List<JobApplicationDto> getApplicationsByJobForEmployer(Long jobId) {
-        List<JobApplication> applications = jobApplicationRepository.findByJobIdOrderByAppliedAtAsc(jobId);
+        List<JobApplication> applications = jobApplicationRepository.findApplicantsByJobId(jobId);
         return applications.stream()
                 .map(jobApplication -> ApplicationUtility.mapToJobApplicationDto(jobApplication))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageDto<JobApplicationDto> getApplicationsByJobForEmployer(Long jobId, String cursor,
+            int pageSize, boolean includeTotal) {
+        Window<JobApplication> window = jobApplicationRepository.findByJobIdOrderByAppliedAtAscIdAsc(jobId,
+                ScrollCursorUtility.decode(cursor, "appliedAt"), Limit.of(pageSize));
+        List<JobApplication> applications = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !applications.isEmpty()) {
+            JobApplication last = applications.getLast();
+            nextCursor = ScrollCursorUtility.encode(last.getAppliedAt(), last.getId());
+        }
+        Long totalElements = includeTotal ? jobApplicationRepository.countByJobId(jobId) : null;
+        return new CursorPageDto<>(applications.stream().map(ApplicationUtility::mapToJobApplicationDto)
+                .collect(Collectors.toList()), pageSize, window.hasNext(), nextCursor, totalElements);
+    }
+
+    @Override
+    public FileDownloadDto getApplicantProfilePicture(Long applicationId, Long companyId) {
+        Profile profile = getApplicantProfile(applicationId, companyId);
+        return profile == null ? null : profileFileService.getProfilePicture(profile);
+    }
+
+    @Override
+    public FileDownloadDto getApplicantResume(Long applicationId, Long companyId) {
+        Profile profile = getApplicantProfile(applicationId, companyId);
+        return profile == null ? null : profileFileService.getResume(profile);
+    }
+
+    private Profile getApplicantProfile(Long applicationId, Long companyId) {
+        JobApplication application = jobApplicationRepository.findById(applicationId)
+                .orElseThrow(() -> new RuntimeException("Job application not found"));
+        if (!companyId.equals(application.getJob().getCompany().getId())) {
+            throw new RuntimeException("Job application does not belong to the employer's company");
+        }
+        return application.getUser().getProfile();
+    }
+
     @Transactional
     @Override
     public boolean updateJobApplication(UpdateJobApplicationDto dto) {
@@ -98,6 +193,15 @@ public class JobServiceImpl implements IJobService {
         return updatedRows > 0;
     }
 
+    private JobDto validated(JobDto jobDto, long jobNumber) {
+        Set<ConstraintViolation<JobDto>> violations = validator.validate(jobDto);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException("Job " + jobNumber + ": " + violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+        }
+        return jobDto;
+    }
+
     private Job tranformDtoToEntity(JobDto jobDto) {
         Job job = new Job();
         BeanUtils.copyProperties(jobDto, job);
@@ -0,0 +1,139 @@
+package com.eazybytes.jobportal.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the exceptions thrown by the application per (exception type, origin method).
+ * <p>
+ * Every failure increments a striped counter and the {@code jobportal.exceptions} Micrometer
+ * counter, and remembers the trace ID of its latest occurrence as an exemplar. The log gets
+ * one line per distinct failure per window, the first occurrence since startup with its stack
+ * trace, plus one summary per window listing the counts of every failure seen in it. An
+ * incident that throws thousands of times a second therefore writes a handful of lines.
+ */
+@Component
+@Slf4j
+public class ExceptionTelemetry {
+
+    private record FailureKey(String exceptionType, String origin) {
+    }
+
+    private static final FailureKey OVERFLOW = new FailureKey("other", "other");
+
+    private static final class Failure {
+
+        private final LongAdder count = new LongAdder();
+        private final Counter counter;
+        private final AtomicLong loggedInWindow = new AtomicLong(-1);
+        private volatile String exemplarTraceId;
+        private volatile String lastMessage;
+        private long flushedCount;
+
+        private Failure(Counter counter) {
+            this.counter = counter;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final long windowMillis;
+    private final int maxTracked;
+    private final Map<FailureKey, Failure> failures = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("exception-telemetry").daemon(true).factory());
+
+    public ExceptionTelemetry(MeterRegistry meterRegistry, Tracer tracer,
+            @Value("${metrics.exceptions.window-seconds:60}") long windowSeconds,
+            @Value("${metrics.exceptions.max-tracked:500}") int maxTracked) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.maxTracked = maxTracked;
+        flushExecutor.scheduleAtFixedRate(this::flush, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Count one failure
+     * @param exception the exception thrown
+     * @param origin the method it was first observed in, as {@code Class.method}
+     */
+    public void record(Throwable exception, String origin) {
+        FailureKey key = new FailureKey(exception.getClass().getSimpleName(), origin);
+        Failure failure = failures.get(key);
+        if (failure == null) {
+            if (failures.size() >= maxTracked) {
+                key = OVERFLOW;
+            }
+            failure = failures.computeIfAbsent(key, this::register);
+        }
+        failure.count.increment();
+        failure.counter.increment();
+        failure.lastMessage = exception.getMessage();
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context != null) {
+            failure.exemplarTraceId = context.traceId();
+        }
+
+        long window = System.currentTimeMillis() / windowMillis;
+        long loggedInWindow = failure.loggedInWindow.get();
+        if (loggedInWindow != window && failure.loggedInWindow.compareAndSet(loggedInWindow, window)) {
+            if (loggedInWindow < 0) {
+                log.error("{} in {}: {} (traceId={})", key.exceptionType(), key.origin(),
+                        exception.getMessage(), failure.exemplarTraceId, exception);
+            } else {
+                log.error("{} in {}: {} (traceId={}), further occurrences are summarized", key.exceptionType(),
+                        key.origin(), exception.getMessage(), failure.exemplarTraceId);
+            }
+        }
+    }
+
+    private Failure register(FailureKey key) {
+        return new Failure(Counter.builder("jobportal.exceptions")
+                .description("Exceptions thrown by the application, by type and origin method")
+                .tag("exception", key.exceptionType()).tag("origin", key.origin())
+                .register(meterRegistry));
+    }
+
+    // Runs on the single flush thread only, flushedCount needs no synchronization
+    void flush() {
+        List<String> lines = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<FailureKey, Failure> entry : failures.entrySet()) {
+            Failure failure = entry.getValue();
+            long count = failure.count.sum();
+            long delta = count - failure.flushedCount;
+            failure.flushedCount = count;
+            if (delta > 0) {
+                total += delta;
+                lines.add(entry.getKey().exceptionType() + " in " + entry.getKey().origin() + " x" + delta
+                        + " (last: " + failure.lastMessage + ", traceId=" + failure.exemplarTraceId + ")");
+            }
+        }
+        if (!lines.isEmpty()) {
+            log.warn("{} exceptions in the last {} s: {}", total, windowMillis / 1000, String.join("; ", lines));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+    }
+
+}
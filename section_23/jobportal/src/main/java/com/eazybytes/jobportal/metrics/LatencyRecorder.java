@@ -0,0 +1,134 @@
+package com.eazybytes.jobportal.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram of one method.
+ * <p>
+ * Latencies are counted in microseconds into log-linear buckets, as HdrHistogram does: every
+ * power of two range is split into {@value #SUB_BUCKETS} linear sub-buckets, so a bucket is
+ * never wider than about 3% of its value and the whole range up to ~19 hours fits in about a
+ * thousand counters. Recording is an index computation and an atomic increment, it never
+ * locks or allocates. Counters only grow, percentiles are computed by the reader over the
+ * difference with the counters of the previous window.
+ */
+public final class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final long MAX_MICROS = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * Latency distribution of one window
+     * @param count the number of calls in the window
+     * @param maxMicros the slowest call of the window, in microseconds
+     */
+    public record Snapshot(long count, long maxMicros, long[] counts) {
+
+        private static final Snapshot EMPTY = new Snapshot(0, 0, new long[0]);
+
+        /**
+         * @param quantile between 0 and 1
+         * @return the latency at or below which this share of the calls completed, in
+         *         microseconds, 0 when there were no calls
+         */
+        public long percentileMicros(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(bucket), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong windowMaxMicros = new AtomicLong();
+    private final long windowNanos;
+
+    // Reader side, guarded by this
+    private long[] previousCounts = new long[BUCKETS];
+    private long windowStartedAt = System.nanoTime();
+    private Snapshot lastWindow = Snapshot.EMPTY;
+
+    /**
+     * @param window the period the percentiles are computed over
+     */
+    public LatencyRecorder(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void record(long elapsedNanos) {
+        long micros = Math.min(Math.max(0, elapsedNanos / 1_000), MAX_MICROS);
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalNanos.add(elapsedNanos);
+        long max = windowMaxMicros.get();
+        while (micros > max && !windowMaxMicros.compareAndSet(max, micros)) {
+            max = windowMaxMicros.get();
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return the distribution of the last complete window, the same snapshot is returned
+     *         until the next window completes so that every percentile of a publication
+     *         describes the same calls
+     */
+    public synchronized Snapshot lastWindow() {
+        long now = System.nanoTime();
+        if (now - windowStartedAt >= windowNanos) {
+            long[] current = new long[BUCKETS];
+            long[] window = new long[BUCKETS];
+            long windowCount = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                current[bucket] = counts.get(bucket);
+                window[bucket] = current[bucket] - previousCounts[bucket];
+                windowCount += window[bucket];
+            }
+            lastWindow = new Snapshot(windowCount, windowMaxMicros.getAndSet(0), window);
+            previousCounts = current;
+            windowStartedAt = now;
+        }
+        return lastWindow;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((micros >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
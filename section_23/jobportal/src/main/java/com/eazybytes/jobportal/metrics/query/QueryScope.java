@@ -0,0 +1,83 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The statements run by one thread between {@link QueryStatsRecorder#open(String)} and
+ * {@link #close()}, for example one HTTP request or one service call. Scopes nest, a
+ * statement counts in the innermost scope and in every enclosing one.
+ * <p>
+ * Statements are kept as Hibernate generated them and only reduced to their shape when the
+ * scope is reported, recording is a map increment.
+ */
+public final class QueryScope implements AutoCloseable {
+
+    private final String name;
+    private final QueryScope parent;
+    private final QueryStatsRecorder recorder;
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+
+    QueryScope(String name, QueryScope parent, QueryStatsRecorder recorder) {
+        this.name = name;
+        this.parent = parent;
+        this.recorder = recorder;
+    }
+
+    void record(String sql) {
+        for (QueryScope scope = this; scope != null; scope = scope.parent) {
+            scope.count++;
+            scope.statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    QueryScope parent() {
+        return parent;
+    }
+
+    /**
+     * @return the number of statements run in this scope
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return how many times each statement shape ran, most frequent first
+     */
+    public Map<String, Integer> shapes() {
+        Map<String, Integer> shapes = new HashMap<>();
+        statements.forEach((sql, times) -> shapes.merge(QueryStatsRecorder.shapeOf(sql), times, Integer::sum));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * @param threshold the number of runs from which a shape is reported
+     * @return the shapes that ran at least {@code threshold} times, the usual sign of an N+1
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes().forEach((shape, times) -> {
+            if (times >= threshold) {
+                repeated.put(shape, times);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        recorder.closed(this);
+    }
+
+}
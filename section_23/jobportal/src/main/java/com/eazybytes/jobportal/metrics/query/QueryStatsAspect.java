@@ -0,0 +1,36 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the statements of every method of the {@code @RecordLatency} services, nested in
+ * the scope of the request that called them.
+ */
+@Aspect
+@Component
+@Profile("dev")
+@RequiredArgsConstructor
+public class QueryStatsAspect {
+
+    private final QueryStatsRecorder queryStatsRecorder;
+    private final QueryStatsRegistry queryStatsRegistry;
+
+    @Around("execution(public * *(..)) && (@within(com.eazybytes.jobportal.aspects.RecordLatency)"
+            + " || @annotation(com.eazybytes.jobportal.aspects.RecordLatency))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().toShortString();
+        QueryScope scope = queryStatsRecorder.open(name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            scope.close();
+            queryStatsRegistry.record(QueryStatsRegistry.METHODS, name, scope);
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryStatsConfig {
+
+    // The recorder is a bean, so it is handed to Hibernate as an instance rather than a class name
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsStatementInspector(QueryStatsRecorder queryStatsRecorder) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryStatsRecorder);
+    }
+
+}
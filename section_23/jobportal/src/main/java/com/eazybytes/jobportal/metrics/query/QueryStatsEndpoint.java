@@ -0,0 +1,34 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/querystats}, dev profile only: statements per request pattern and per
+ * service method, with the shapes that repeated inside one call. DELETE starts over.
+ */
+@Component
+@Profile("dev")
+@Endpoint(id = "querystats")
+@RequiredArgsConstructor
+public class QueryStatsEndpoint {
+
+    private final QueryStatsRegistry queryStatsRegistry;
+
+    @ReadOperation
+    public Map<String, Map<String, QueryStatsRegistry.ScopeSnapshot>> queryStats() {
+        return queryStatsRegistry.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryStatsRegistry.reset();
+    }
+
+}
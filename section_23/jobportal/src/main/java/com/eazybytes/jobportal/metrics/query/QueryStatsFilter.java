@@ -0,0 +1,44 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryScope} around every HTTP request, authentication included, and
+ * records it under the matched handler pattern so that requests for different IDs add up.
+ */
+@Component
+@Profile("dev")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final QueryStatsRecorder queryStatsRecorder;
+    private final QueryStatsRegistry queryStatsRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        QueryScope scope = queryStatsRecorder.open(request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String path = pattern != null ? pattern.toString() : request.getRequestURI();
+            queryStatsRegistry.record(QueryStatsRegistry.REQUESTS, request.getMethod() + " " + path, scope);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate {@link StatementInspector} that counts every statement into the {@link QueryScope}
+ * open on the calling thread. Without an open scope it only reads a thread local, so it stays
+ * installed in every profile; the scopes are opened by {@link QueryStatsFilter} and
+ * {@link QueryStatsAspect} in the dev profile and by the {@code @MaxQueries} test extension.
+ */
+@Component
+public class QueryStatsRecorder implements StatementInspector {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Batch fetches and IN predicates differ only by the number of placeholders
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+
+    private final ThreadLocal<QueryScope> currentScope = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        QueryScope scope = currentScope.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Open a scope on the calling thread, nested in the current one if any. Close it on the
+     * same thread, in a try-with-resources block.
+     * @param name what the scope measures, a request or a method
+     */
+    public QueryScope open(String name) {
+        QueryScope scope = new QueryScope(name, currentScope.get(), this);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    void closed(QueryScope scope) {
+        if (scope.parent() == null) {
+            currentScope.remove();
+        } else {
+            currentScope.set(scope.parent());
+        }
+    }
+
+    /**
+     * Reduce a statement to its shape: whitespace collapsed and placeholder lists folded, so
+     * the same query with a different number of IDs counts as one shape
+     */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        return PLACEHOLDER_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+}
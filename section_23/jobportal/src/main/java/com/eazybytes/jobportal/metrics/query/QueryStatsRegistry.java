@@ -0,0 +1,100 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement counts per HTTP request pattern and per service method, served by
+ * {@link QueryStatsEndpoint}. A scope running the same statement shape
+ * {@code repeat-threshold} times or more is logged once per scope name and shape as a
+ * probable N+1, a request running more than {@code request-budget} statements once per
+ * request pattern.
+ */
+@Component
+@Profile("dev")
+@Slf4j
+public class QueryStatsRegistry {
+
+    public static final String REQUESTS = "requests";
+    public static final String METHODS = "methods";
+
+    public record ScopeSnapshot(long invocations, long statements, double averageStatements,
+            int maxStatements, Map<String, Integer> repeatedShapes) {
+    }
+
+    private static final class ScopeStats {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+        // Highest number of runs seen in one scope, per repeated shape
+        private final Map<String, Integer> repeatedShapes = new ConcurrentHashMap<>();
+        private volatile boolean overBudgetLogged;
+
+        ScopeSnapshot snapshot() {
+            long count = invocations.sum();
+            long total = statements.sum();
+            return new ScopeSnapshot(count, total, count == 0 ? 0 : (double) total / count,
+                    maxStatements.get(), new TreeMap<>(repeatedShapes));
+        }
+    }
+
+    private final int repeatThreshold;
+    private final int requestBudget;
+    private final Map<String, Map<String, ScopeStats>> stats = Map.of(
+            REQUESTS, new ConcurrentHashMap<>(), METHODS, new ConcurrentHashMap<>());
+
+    public QueryStatsRegistry(@Value("${metrics.queries.repeat-threshold:3}") int repeatThreshold,
+            @Value("${metrics.queries.request-budget:10}") int requestBudget) {
+        this.repeatThreshold = repeatThreshold;
+        this.requestBudget = requestBudget;
+    }
+
+    /**
+     * @param kind {@link #REQUESTS} or {@link #METHODS}
+     * @param name the request pattern or method the scope measured
+     * @param scope the closed scope
+     */
+    public void record(String kind, String name, QueryScope scope) {
+        ScopeStats scopeStats = stats.get(kind).computeIfAbsent(name, _ -> new ScopeStats());
+        int count = scope.count();
+        scopeStats.invocations.increment();
+        scopeStats.statements.add(count);
+        scopeStats.maxStatements.accumulateAndGet(count, Math::max);
+        if (count >= repeatThreshold) {
+            scope.repeatedShapes(repeatThreshold).forEach((shape, times) -> {
+                Integer previous = scopeStats.repeatedShapes.put(shape, Math.max(times,
+                        scopeStats.repeatedShapes.getOrDefault(shape, 0)));
+                if (previous == null) {
+                    log.warn("Probable N+1 in {}: the same statement ran {} times: {}", name, times, shape);
+                }
+            });
+        }
+        if (REQUESTS.equals(kind) && count > requestBudget && !scopeStats.overBudgetLogged) {
+            scopeStats.overBudgetLogged = true;
+            log.warn("{} ran {} statements, over the budget of {}", name, count, requestBudget);
+        }
+    }
+
+    public Map<String, Map<String, ScopeSnapshot>> snapshot() {
+        Map<String, Map<String, ScopeSnapshot>> snapshot = new TreeMap<>();
+        stats.forEach((kind, scopes) -> {
+            Map<String, ScopeSnapshot> kindSnapshot = new TreeMap<>();
+            scopes.forEach((name, scopeStats) -> kindSnapshot.put(name, scopeStats.snapshot()));
+            snapshot.put(kind, kindSnapshot);
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        stats.values().forEach(Map::clear);
+    }
+
+}
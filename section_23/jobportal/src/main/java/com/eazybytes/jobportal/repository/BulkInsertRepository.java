@@ -0,0 +1,75 @@
+package com.eazybytes.jobportal.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Inserts entities read from a stream through a {@link StatelessSession}, for imports too large
+ * for the persistence context. Nothing is kept once a chunk is written, so memory stays at one
+ * chunk of {@code bulk-import.chunk-size} entities whatever the size of the input.
+ * <p>
+ * Each chunk goes out as one JDBC batch, which the MySQL driver rewrites into a multi-row INSERT.
+ * That needs identifiers handed out before the INSERT, the entities imported this way use the
+ * pooled {@code id_generators} table instead of AUTO_INCREMENT. Entity listeners do not run in a
+ * stateless session, callers fill the audit columns themselves.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final int chunkSize;
+
+    public BulkInsertRepository(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+            @Value("${bulk-import.chunk-size:500}") int chunkSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Inserts every entity of the stream, on the connection of the caller's transaction so the
+     * import commits or rolls back as a whole. The stream is consumed lazily, one chunk at a time.
+     *
+     * @return the number of entities inserted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> long insertAll(Stream<T> stream) {
+        Iterator<T> entities = stream.iterator();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.openStatelessSession(connection)) {
+            session.setJdbcBatchSize(chunkSize);
+            List<T> chunk = new ArrayList<>(chunkSize);
+            long inserted = 0;
+            while (entities.hasNext()) {
+                chunk.add(entities.next());
+                if (chunk.size() == chunkSize) {
+                    session.insertMultiple(chunk);
+                    inserted += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                session.insertMultiple(chunk);
+                inserted += chunk.size();
+            }
+            return inserted;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+}
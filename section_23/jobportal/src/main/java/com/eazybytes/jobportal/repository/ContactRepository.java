@@ -1,9 +1,12 @@
 package com.eazybytes.jobportal.repository;
 
 import com.eazybytes.jobportal.entity.Contact;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +23,12 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
 
     Page<Contact> findContactsByStatus(String status, Pageable pageable);
 
+    // Keyset pagination on (created_at, id): no OFFSET and no COUNT(*) per window
+    Window<Contact> findContactsByStatusOrderByCreatedAtAscIdAsc(String status, ScrollPosition position,
+            Limit limit);
+
+    long countByStatus(String status);
+
     @Modifying
     int updateStatusById(@Param("status") String status, @Param("id") Long id,
             @Param("updatedBy") String updatedBy);
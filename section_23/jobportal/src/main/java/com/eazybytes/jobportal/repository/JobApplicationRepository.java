@@ -1,25 +1,63 @@
 package com.eazybytes.jobportal.repository;
 
+import com.eazybytes.jobportal.dto.JobApplicationRow;
 import com.eazybytes.jobportal.entity.JobApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
 
-    boolean existsByUserIdAndJobId(Long userId, Long jobId);
-
-    // Delete an application by user ID and job ID
-    void deleteByUserIdAndJobId(Long userId, Long jobId);
+    // One DELETE statement, the application is not loaded first. Returns the number of deleted rows.
+    @Modifying
+    @Query("DELETE FROM JobApplication a WHERE a.user.id = :userId AND a.job.id = :jobId")
+    int deleteByUserIdAndJobId(@Param("userId") Long userId, @Param("jobId") Long jobId);
 
-    // Find all applications by user ID
-    List<JobApplication> findByUserIdOrderByAppliedAtDesc(Long userId);
+    // Applications of a job seeker with the profile, job and company in one statement.
+    // Only the columns of JobApplicationDto are read, none of the profile BLOBs.
+    @Query("""
+            SELECT new com.eazybytes.jobportal.dto.JobApplicationRow(a.id, u.id, u.name, u.email,
+                u.mobileNumber, p.id, p.jobTitle, p.location, p.experienceLevel, p.professionalBio,
+                p.portfolioWebsite, p.profilePictureName, p.profilePictureType, p.resumeName,
+                p.resumeType, p.createdAt, p.updatedAt,
+            """ + JobRepository.JOB_DTO + """
+            , a.appliedAt, a.status, a.coverLetter, a.notes)
+            FROM JobApplication a
+            JOIN a.user u
+            LEFT JOIN u.profile p
+            JOIN a.job j
+            JOIN j.company c
+            WHERE u.id = :userId
+            ORDER BY a.appliedAt DESC
+            """)
+    List<JobApplicationRow> findApplicationRowsByUserId(@Param("userId") Long userId);
 
     // Find applications by job ID
     List<JobApplication> findByJobIdOrderByAppliedAtAsc(Long jobId);
 
+    // Applicant list in one statement, the lazy profile BLOB columns are not selected
+    @Query("""
+            SELECT a FROM JobApplication a
+            JOIN FETCH a.user u
+            LEFT JOIN FETCH u.profile
+            JOIN FETCH a.job j
+            JOIN FETCH j.company
+            WHERE j.id = :jobId
+            ORDER BY a.appliedAt ASC
+            """)
+    List<JobApplication> findApplicantsByJobId(@Param("jobId") Long jobId);
+
+    // Keyset pagination of the applications of a job on (applied_at, id)
+    Window<JobApplication> findByJobIdOrderByAppliedAtAscIdAsc(Long jobId, ScrollPosition position, Limit limit);
+
+    long countByJobId(Long jobId);
+
     @Modifying
     int updateStatusAndNotesById(@Param("status") String status, @Param("notes") String notes,
             @Param("id") Long id, @Param("updatedBy") String updatedBy);
@@ -2,6 +2,10 @@ package com.eazybytes.jobportal.repository;
 
 import com.eazybytes.jobportal.entity.JobPortalUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -11,4 +15,10 @@ public interface JobPortalUserRepository extends JpaRepository<JobPortalUser, Lo
 
     Optional<JobPortalUser> findJobPortalUserByEmail(String email);
 
+    // Rehash on login, only the hash column is written
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobPortalUser u SET u.passwordHash = :passwordHash WHERE u.id = :id")
+    int updatePasswordHashById(@Param("passwordHash") String passwordHash, @Param("id") Long id);
+
 }
\ No newline at end of file
@@ -1,7 +1,49 @@
 package com.eazybytes.jobportal.repository;
 
+import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.entity.Job;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // Constructor expression of JobDto, the FROM clause must alias the job j and its company c
+    String JOB_DTO = """
+            new com.eazybytes.jobportal.dto.JobDto(j.id, j.title, c.id, c.name, c.logo, j.location,
+                j.workType, j.jobType, j.category, j.experienceLevel, j.salaryMin, j.salaryMax,
+                j.salaryCurrency, j.salaryPeriod, j.description, j.requirements, j.benefits, j.postedDate,
+                j.applicationDeadline, j.applicationsCount, j.featured, j.urgent, j.remote, j.status)""";
+
+    String JOB_DTO_SELECT = "SELECT " + JOB_DTO;
+
+    @Query("SELECT j FROM Job j JOIN FETCH j.company WHERE j.status = :status")
+    List<Job> findJobsWithCompanyByStatus(@Param("status") String status);
+
+    // Employer job list in one statement, only the columns of JobDto are read
+    @Query(JOB_DTO_SELECT + """
+             FROM Job j JOIN j.company c
+            WHERE c.id = :companyId""")
+    List<JobDto> findJobDtosByCompanyId(@Param("companyId") Long companyId);
+
+    // Keyset pagination of a company's jobs on (created_at, id), newest first
+    Window<Job> findByCompanyIdOrderByCreatedAtDescIdDesc(Long companyId, ScrollPosition position, Limit limit);
+
+    long countByCompanyId(Long companyId);
+
+    // Relative update of the counter, concurrent writers never overwrite each other and it never goes below zero
+    @Modifying
+    @Query("""
+            UPDATE Job j SET j.applicationsCount = CASE
+                WHEN COALESCE(j.applicationsCount, 0) + :delta < 0 THEN 0
+                ELSE COALESCE(j.applicationsCount, 0) + :delta END
+            WHERE j.id = :jobId""")
+    int addToApplicationsCount(@Param("jobId") Long jobId, @Param("delta") int delta);
+
 }
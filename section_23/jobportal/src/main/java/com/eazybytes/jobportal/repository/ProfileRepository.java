@@ -2,6 +2,21 @@ package com.eazybytes.jobportal.repository;
 
 import com.eazybytes.jobportal.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
+
+    @Query("""
+            SELECT p.id FROM Profile p
+            WHERE (p.profilePicture IS NOT NULL AND p.profilePictureHash IS NULL)
+               OR (p.resume IS NOT NULL AND p.resumeHash IS NULL)
+            ORDER BY p.id
+            """)
+    List<Long> findProfileIdsWithLegacyFiles();
+
+    Optional<Profile> findByUserId(Long userId);
+
 }
\ No newline at end of file
@@ -8,7 +8,7 @@ import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
-    @Cacheable("roles")
+    @Cacheable(value = "roles", sync = true)
     Optional<Role> findRoleByName(String name);
 
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.eazybytes.jobportal.repository;
+
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.entity.SavedJob;
+import com.eazybytes.jobportal.entity.SavedJobId;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SavedJobRepository extends Repository<SavedJob, SavedJobId> {
+
+    // Saving twice is not an error, returns 0 when the row already existed
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO saved_jobs (user_id, job_id) VALUES (:userId, :jobId)", nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("jobId") Long jobId);
+
+    @Modifying
+    @Query(value = "DELETE FROM saved_jobs WHERE user_id = :userId AND job_id = :jobId", nativeQuery = true)
+    int delete(@Param("userId") Long userId, @Param("jobId") Long jobId);
+
+    @Query(value = "SELECT job_id FROM saved_jobs WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findJobIdsByUserId(@Param("userId") Long userId);
+
+    // Saved jobs with their company in one statement, straight into the DTO
+    @Query(JobRepository.JOB_DTO_SELECT + """
+             FROM SavedJob s JOIN Job j ON j.id = s.id.jobId JOIN j.company c
+            WHERE s.id.userId = :userId""")
+    List<JobDto> findSavedJobDtosByUserId(@Param("userId") Long userId);
+
+}
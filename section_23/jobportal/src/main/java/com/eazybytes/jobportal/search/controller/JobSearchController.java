@@ -0,0 +1,54 @@
+package com.eazybytes.jobportal.search.controller;
+
+import com.eazybytes.jobportal.dto.JobFacetsDto;
+import com.eazybytes.jobportal.dto.JobSearchResponseDto;
+import com.eazybytes.jobportal.search.index.JobSearchQuery;
+import com.eazybytes.jobportal.search.service.IJobSearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+public class JobSearchController {
+
+    private final IJobSearchService jobSearchService;
+
+    @GetMapping(path = "/search/public", version = "1.0")
+    public ResponseEntity<JobSearchResponseDto> searchJobs(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String workType,
+            @RequestParam(required = false) String jobType,
+            @RequestParam(required = false) String experienceLevel,
+            @RequestParam(required = false) Boolean remote,
+            @RequestParam(required = false) BigDecimal salaryMin,
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+        JobSearchQuery query = new JobSearchQuery(q, location, category, workType, jobType,
+                experienceLevel, remote, salaryMin, sortBy, page, size);
+        return ResponseEntity.ok(jobSearchService.searchJobs(query));
+    }
+
+    /**
+     * Facet counts alone, e.g. for the home page counters. Every request parameter named
+     * after a facet (category, location, experienceLevel, workType, jobType, remote, company)
+     * is used as a selection.
+     */
+    @GetMapping(path = "/facets/public", version = "1.0")
+    public ResponseEntity<JobFacetsDto> getFacets(@RequestParam Map<String, String> selections) {
+        return ResponseEntity.ok(jobSearchService.getFacets(selections));
+    }
+
+}
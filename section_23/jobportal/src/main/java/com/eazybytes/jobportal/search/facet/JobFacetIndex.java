@@ -0,0 +1,227 @@
+package com.eazybytes.jobportal.search.facet;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.dto.JobFacetsDto;
+import com.eazybytes.jobportal.events.ApplicationCountChangedEvent;
+import com.eazybytes.jobportal.events.CompanyDeletedEvent;
+import com.eazybytes.jobportal.events.CompanyUpdatedEvent;
+import com.eazybytes.jobportal.events.JobCatalogEvent;
+import com.eazybytes.jobportal.events.JobCatalogReadModel;
+import com.eazybytes.jobportal.events.JobCreatedEvent;
+import com.eazybytes.jobportal.events.JobStatusChangedEvent;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts for the ACTIVE job catalog.
+ * <p>
+ * Every distinct value of every facet column owns one compressed {@link RoaringBitmap} of
+ * job IDs. A count is the cardinality of the intersection of the selected bitmaps with the
+ * value bitmap, so it costs a few word-wise ANDs instead of a scan of the jobs table.
+ * Counts of a facet ignore the selection made on that same facet, which lets the UI show
+ * how many jobs every alternative value would return.
+ */
+@Component
+public class JobFacetIndex implements JobCatalogReadModel {
+
+    public static final String CATEGORY = "category";
+    public static final String LOCATION = "location";
+    public static final String EXPERIENCE_LEVEL = "experienceLevel";
+    public static final String WORK_TYPE = "workType";
+    public static final String JOB_TYPE = "jobType";
+    public static final String REMOTE = "remote";
+    public static final String COMPANY = "company";
+
+    private static final List<String> FACETS = List.of(CATEGORY, LOCATION, EXPERIENCE_LEVEL,
+            WORK_TYPE, JOB_TYPE, REMOTE, COMPANY);
+
+    private record IndexedJob(Long companyId, Map<String, String> values) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap allJobs = new RoaringBitmap();
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+    private final Map<Long, RoaringBitmap> jobsByCompany = new HashMap<>();
+    private final Map<Integer, IndexedJob> indexedJobs = new HashMap<>();
+
+    /**
+     * Replace the whole content of the facet index with the given jobs
+     * @param jobs the ACTIVE jobs to index
+     */
+    public void rebuild(Collection<JobDto> jobs) {
+        lock.writeLock().lock();
+        try {
+            allJobs.clear();
+            bitmaps.clear();
+            jobsByCompany.clear();
+            indexedJobs.clear();
+            jobs.forEach(this::addJob);
+            allJobs.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(List<JobCatalogEvent> events) {
+        lock.writeLock().lock();
+        try {
+            for (JobCatalogEvent event : events) {
+                switch (event) {
+                    case JobCreatedEvent(JobDto job) -> addOrRemove(job);
+                    case JobStatusChangedEvent(JobDto job, String _) -> addOrRemove(job);
+                    case CompanyUpdatedEvent(Long companyId, String name, String _) -> renameCompany(companyId, name);
+                    case CompanyDeletedEvent(Long companyId) -> removeCompany(companyId);
+                    case ApplicationCountChangedEvent _ -> {
+                        // Not a facet column
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count the jobs of every facet value for the given selections
+     * @param selections facet name to selected value, blank values are ignored
+     * @param restrictTo only count these job IDs, {@code null} to count the whole catalog
+     * @return the number of hits and the counts of every facet
+     */
+    public JobFacetsDto counts(Map<String, String> selections, Collection<Long> restrictTo) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = restrictTo == null ? allJobs : RoaringBitmap.and(allJobs, toBitmap(restrictTo));
+            Map<String, RoaringBitmap> selected = new HashMap<>();
+            selections.forEach((facet, value) -> {
+                if (FACETS.contains(facet) && value != null && !value.isBlank()) {
+                    selected.put(facet, lookup(facet, value));
+                }
+            });
+            RoaringBitmap hits = base.clone();
+            selected.values().forEach(hits::and);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                RoaringBitmap facetBase = base.clone();
+                selected.forEach((selectedFacet, bitmap) -> {
+                    if (!selectedFacet.equals(facet)) {
+                        facetBase.and(bitmap);
+                    }
+                });
+                Map<String, Integer> counts = new TreeMap<>();
+                bitmaps.getOrDefault(facet, Map.of()).forEach((value, bitmap) -> {
+                    int count = RoaringBitmap.andCardinality(facetBase, bitmap);
+                    if (count > 0) {
+                        counts.put(value, count);
+                    }
+                });
+                facets.put(facet, counts);
+            }
+            return new JobFacetsDto(hits.getCardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap lookup(String facet, String value) {
+        for (Map.Entry<String, RoaringBitmap> entry : bitmaps.getOrDefault(facet, Map.of()).entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(value.trim())) {
+                return entry.getValue();
+            }
+        }
+        return new RoaringBitmap();
+    }
+
+    private void addOrRemove(JobDto job) {
+        if (ApplicationConstants.ACTIVE_STATUS.equals(job.status())) {
+            addJob(job);
+        } else {
+            removeJob(Math.toIntExact(job.id()));
+        }
+    }
+
+    private void addJob(JobDto job) {
+        int docId = Math.toIntExact(job.id());
+        removeJob(docId);
+        Map<String, String> values = new HashMap<>();
+        values.put(CATEGORY, job.category());
+        values.put(LOCATION, job.location());
+        values.put(EXPERIENCE_LEVEL, job.experienceLevel());
+        values.put(WORK_TYPE, job.workType());
+        values.put(JOB_TYPE, job.jobType());
+        values.put(REMOTE, String.valueOf(Boolean.TRUE.equals(job.remote())));
+        values.put(COMPANY, job.companyName());
+        values.values().removeIf(value -> value == null);
+        values.forEach((facet, value) -> bitmaps.computeIfAbsent(facet, _ -> new HashMap<>())
+                .computeIfAbsent(value, _ -> new RoaringBitmap()).add(docId));
+        allJobs.add(docId);
+        jobsByCompany.computeIfAbsent(job.companyId(), _ -> new RoaringBitmap()).add(docId);
+        indexedJobs.put(docId, new IndexedJob(job.companyId(), values));
+    }
+
+    private void removeJob(int docId) {
+        IndexedJob indexedJob = indexedJobs.remove(docId);
+        if (indexedJob == null) {
+            return;
+        }
+        indexedJob.values().forEach((facet, value) -> {
+            Map<String, RoaringBitmap> valueBitmaps = bitmaps.get(facet);
+            RoaringBitmap bitmap = valueBitmaps.get(value);
+            bitmap.remove(docId);
+            if (bitmap.isEmpty()) {
+                valueBitmaps.remove(value);
+            }
+        });
+        allJobs.remove(docId);
+        RoaringBitmap companyJobs = jobsByCompany.get(indexedJob.companyId());
+        if (companyJobs != null) {
+            companyJobs.remove(docId);
+        }
+    }
+
+    private void renameCompany(Long companyId, String name) {
+        RoaringBitmap companyJobs = jobsByCompany.get(companyId);
+        if (companyJobs == null || name == null) {
+            return;
+        }
+        companyJobs.forEach((int docId) -> {
+            Map<String, String> values = indexedJobs.get(docId).values();
+            String oldName = values.put(COMPANY, name);
+            if (oldName != null) {
+                Map<String, RoaringBitmap> companyBitmaps = bitmaps.get(COMPANY);
+                RoaringBitmap bitmap = companyBitmaps.get(oldName);
+                bitmap.remove(docId);
+                if (bitmap.isEmpty()) {
+                    companyBitmaps.remove(oldName);
+                }
+            }
+            bitmaps.computeIfAbsent(COMPANY, _ -> new HashMap<>())
+                    .computeIfAbsent(name, _ -> new RoaringBitmap()).add(docId);
+        });
+    }
+
+    private void removeCompany(Long companyId) {
+        RoaringBitmap companyJobs = jobsByCompany.remove(companyId);
+        if (companyJobs != null) {
+            companyJobs.forEach((int docId) -> removeJob(docId));
+        }
+    }
+
+    private static RoaringBitmap toBitmap(Collection<Long> jobIds) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        jobIds.forEach(jobId -> bitmap.add(Math.toIntExact(jobId)));
+        return bitmap;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.eazybytes.jobportal.search.index;
+
+import com.eazybytes.jobportal.dto.JobDto;
+
+import java.util.List;
+
+/**
+ * One page of ranked hits plus the total number of matching jobs.
+ *
+ * @param baseMatches IDs of the jobs matching the keyword, location and salary filters
+ *                    before the facet filters are applied, {@code null} when none of
+ *                    those filters were given (every ACTIVE job matches)
+ */
+public record JobSearchHits(List<JobDto> jobs, int totalHits, List<Long> baseMatches) {
+}
@@ -0,0 +1,347 @@
+package com.eazybytes.jobportal.search.index;
+
+import com.eazybytes.jobportal.dto.JobDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the public (ACTIVE) job catalog.
+ * <p>
+ * Every job is tokenized once when it is indexed. The postings map keeps, per term, the
+ * weighted term frequency of each job so that a query only touches the postings of its own
+ * terms instead of scanning the whole catalog. Postings are kept in a sorted map so the
+ * last characters a user typed can be matched as a prefix ("java" matches "javascript").
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final int TITLE_WEIGHT = 5;
+    private static final int COMPANY_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int REQUIREMENTS_WEIGHT = 1;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Prefix expansions rank below an exact term hit
+    private static final double PREFIX_MATCH_BOOST = 0.5;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    private static final Set<String> STOP_WORDS = Set.of("an", "and", "the", "of", "for", "in", "on",
+            "to", "with", "at", "or", "is", "are", "we", "our", "you", "your", "be", "as", "by");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, JobDto> documents = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> termsByJob = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /**
+     * Replace the whole content of the index with the given jobs
+     * @param jobs the ACTIVE jobs to index
+     */
+    public void rebuild(Collection<JobDto> jobs) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            termsByJob.clear();
+            postings.clear();
+            jobs.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a job to the index, replacing any previous version of the same job
+     * @param job the job to index
+     */
+    public void index(JobDto job) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(job.id());
+            addDocument(job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a job from the index
+     * @param jobId the ID of the job to remove
+     */
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every job of a deleted company
+     * @param companyId the ID of the deleted company
+     */
+    public void removeByCompany(Long companyId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> jobIds = documents.values().stream()
+                    .filter(job -> companyId.equals(job.companyId()))
+                    .map(JobDto::id).toList();
+            jobIds.forEach(this::removeDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index the jobs of a company after its name or logo changed
+     * @param companyId the ID of the company
+     * @param name the new company name
+     * @param logo the new company logo
+     */
+    public void updateCompany(Long companyId, String name, String logo) {
+        lock.writeLock().lock();
+        try {
+            List<JobDto> jobs = documents.values().stream()
+                    .filter(job -> companyId.equals(job.companyId()))
+                    .toList();
+            for (JobDto job : jobs) {
+                removeDocument(job.id());
+                addDocument(job.withCompany(name, logo));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply an applications count delta to an indexed job. The count is not tokenized,
+     * so only the stored document is swapped.
+     * @param jobId the ID of the job
+     * @param delta the change to apply
+     */
+    public void adjustApplicationsCount(Long jobId, int delta) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(jobId, (_, job) -> job.withApplicationsCount(
+                    Math.max(0, (job.applicationsCount() == null ? 0 : job.applicationsCount()) + delta)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Run several index changes under one write lock so that searches never observe a
+     * half applied batch. The lock is reentrant, the changes can call the other mutators.
+     * @param changes the changes to apply
+     */
+    public void runExclusively(Runnable changes) {
+        lock.writeLock().lock();
+        try {
+            changes.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Look up an indexed job
+     * @param jobId the ID of the job
+     * @return the job, empty when it is not ACTIVE
+     */
+    public Optional<JobDto> find(Long jobId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(documents.get(jobId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Run a tokenized keyword query plus the structured filters and return the requested page
+     * @param query the search request
+     * @return the ranked page of jobs and the total number of hits
+     */
+    public JobSearchHits search(JobSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            List<String> terms = tokenize(query.keyword()).distinct().toList();
+            Map<Long, Double> scores = terms.isEmpty() ? null : score(terms);
+            Collection<Long> candidates = scores == null ? documents.keySet() : scores.keySet();
+            List<Long> baseMatches = new ArrayList<>();
+            List<JobDto> matches = new ArrayList<>();
+            for (Long jobId : candidates) {
+                JobDto job = documents.get(jobId);
+                if (matchesTextFilters(job, query)) {
+                    baseMatches.add(jobId);
+                    if (matchesFacetFilters(job, query)) {
+                        matches.add(job);
+                    }
+                }
+            }
+            matches.sort(comparator(query.sortBy(), scores));
+            int from = (int) Math.min((long) query.page() * query.size(), matches.size());
+            int to = Math.min(from + query.size(), matches.size());
+            boolean restricted = scores != null || hasText(query.location()) || query.salaryMin() != null;
+            return new JobSearchHits(List.copyOf(matches.subList(from, to)), matches.size(),
+                    restricted ? baseMatches : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> token.length() > 1 && !STOP_WORDS.contains(token));
+    }
+
+    /*
+    Every query term must match (AND semantics). Each term is scored as
+    weighted term frequency * idf, summed over all exact and prefix expansions.
+     */
+    private Map<Long, Double> score(List<String> terms) {
+        Map<Long, Double> scores = null;
+        int totalDocuments = documents.size();
+        for (String term : terms) {
+            Map<Long, Double> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> entry :
+                    postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                Map<Long, Integer> posting = entry.getValue();
+                double idf = Math.log(1.0 + (double) totalDocuments / posting.size());
+                double boost = entry.getKey().equals(term) ? 1.0 : PREFIX_MATCH_BOOST;
+                posting.forEach((jobId, weight) -> termScores.merge(jobId, weight * idf * boost, Double::sum));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((jobId, score) -> score + termScores.get(jobId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    // Free text and range filters, they have no facet bitmap
+    private boolean matchesTextFilters(JobDto job, JobSearchQuery query) {
+        return matchesLocation(query.location(), job.location())
+                && matchesSalary(query.salaryMin(), job.salaryMin());
+    }
+
+    // Exact value filters, the same columns are counted by the facet index
+    private boolean matchesFacetFilters(JobDto job, JobSearchQuery query) {
+        return matchesExactly(query.category(), job.category())
+                && matchesExactly(query.workType(), job.workType())
+                && matchesExactly(query.jobType(), job.jobType())
+                && matchesExactly(query.experienceLevel(), job.experienceLevel())
+                && (query.remote() == null || query.remote().equals(Boolean.TRUE.equals(job.remote())));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static boolean matchesExactly(String expected, String actual) {
+        return !hasText(expected) || expected.equalsIgnoreCase(actual);
+    }
+
+    private static boolean matchesLocation(String expected, String actual) {
+        if (!hasText(expected)) {
+            return true;
+        }
+        return actual != null && actual.toLowerCase(Locale.ROOT)
+                .contains(expected.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean matchesSalary(BigDecimal salaryMin, BigDecimal jobSalaryMin) {
+        return salaryMin == null || (jobSalaryMin != null && jobSalaryMin.compareTo(salaryMin) >= 0);
+    }
+
+    private static Comparator<JobDto> comparator(String sortBy, Map<Long, Double> scores) {
+        Comparator<JobDto> recent = Comparator.comparing(JobDto::postedDate,
+                Comparator.nullsLast(Comparator.<Instant>reverseOrder()));
+        return switch (sortBy == null ? "relevance" : sortBy) {
+            case "recent" -> recent;
+            case "salary-high" -> Comparator.comparing(JobDto::salaryMax,
+                    Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder())).thenComparing(recent);
+            case "salary-low" -> Comparator.comparing(JobDto::salaryMin,
+                    Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder())).thenComparing(recent);
+            case "company" -> Comparator.comparing(JobDto::companyName,
+                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)).thenComparing(recent);
+            default -> scores == null
+                    ? Comparator.comparing((JobDto job) -> Boolean.TRUE.equals(job.featured())).reversed()
+                            .thenComparing(recent)
+                    : Comparator.comparingDouble((JobDto job) -> scores.get(job.id())).reversed()
+                            .thenComparing(recent);
+        };
+    }
+
+    private void addDocument(JobDto job) {
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, job.title(), TITLE_WEIGHT);
+        addField(terms, job.companyName(), COMPANY_WEIGHT);
+        addField(terms, job.category(), CATEGORY_WEIGHT);
+        addField(terms, job.location(), LOCATION_WEIGHT);
+        addField(terms, job.requirements(), REQUIREMENTS_WEIGHT);
+        addField(terms, job.description(), DESCRIPTION_WEIGHT);
+        documents.put(job.id(), job);
+        termsByJob.put(job.id(), terms);
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, _ -> new HashMap<>()).put(job.id(), weight));
+    }
+
+    private void addField(Map<String, Integer> terms, String text, int weight) {
+        tokenize(text).forEach(token -> terms.merge(token, weight, Integer::sum));
+    }
+
+    private void removeDocument(Long jobId) {
+        documents.remove(jobId);
+        Map<String, Integer> terms = termsByJob.remove(jobId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(jobId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.eazybytes.jobportal.search.index;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.events.ApplicationCountChangedEvent;
+import com.eazybytes.jobportal.events.CompanyDeletedEvent;
+import com.eazybytes.jobportal.events.CompanyUpdatedEvent;
+import com.eazybytes.jobportal.events.JobCatalogEvent;
+import com.eazybytes.jobportal.events.JobCatalogReadModel;
+import com.eazybytes.jobportal.events.JobCreatedEvent;
+import com.eazybytes.jobportal.events.JobStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps {@link JobSearchIndex} in step with the jobs table without full rebuilds.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobSearchIndexUpdater implements JobCatalogReadModel {
+
+    private final JobSearchIndex jobSearchIndex;
+
+    @Override
+    public void apply(List<JobCatalogEvent> events) {
+        jobSearchIndex.runExclusively(() -> events.forEach(this::applyEvent));
+    }
+
+    private void applyEvent(JobCatalogEvent event) {
+        switch (event) {
+            case JobCreatedEvent(JobDto job) -> indexOrRemove(job);
+            case JobStatusChangedEvent(JobDto job, String _) -> indexOrRemove(job);
+            case CompanyUpdatedEvent(Long companyId, String name, String logo) ->
+                    jobSearchIndex.updateCompany(companyId, name, logo);
+            case CompanyDeletedEvent(Long companyId) -> jobSearchIndex.removeByCompany(companyId);
+            case ApplicationCountChangedEvent(Long jobId, int delta) ->
+                    jobSearchIndex.adjustApplicationsCount(jobId, delta);
+        }
+    }
+
+    // Only ACTIVE jobs are part of the public catalog
+    private void indexOrRemove(JobDto job) {
+        if (ApplicationConstants.ACTIVE_STATUS.equals(job.status())) {
+            jobSearchIndex.index(job);
+        } else {
+            jobSearchIndex.remove(job.id());
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.eazybytes.jobportal.search.index;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable search request handed to {@link JobSearchIndex}. All filters are optional,
+ * a {@code null} or blank value means "do not filter on this field".
+ */
+public record JobSearchQuery(
+        String keyword,
+        String location,
+        String category,
+        String workType,
+        String jobType,
+        String experienceLevel,
+        Boolean remote,
+        BigDecimal salaryMin,
+        String sortBy,
+        int page,
+        int size
+) {
+}
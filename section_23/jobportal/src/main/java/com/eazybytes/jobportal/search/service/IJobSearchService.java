@@ -0,0 +1,30 @@
+package com.eazybytes.jobportal.search.service;
+
+import com.eazybytes.jobportal.dto.JobFacetsDto;
+import com.eazybytes.jobportal.dto.JobSearchResponseDto;
+import com.eazybytes.jobportal.search.index.JobSearchQuery;
+
+import java.util.Map;
+
+public interface IJobSearchService {
+
+    /**
+     * Search the ACTIVE jobs using keywords and the catalog filters
+     * @param query the keyword, filters, sort order and page to return
+     * @return a single page of ranked jobs
+     */
+    JobSearchResponseDto searchJobs(JobSearchQuery query);
+
+    /**
+     * Count the ACTIVE jobs of every facet value, without running a keyword search
+     * @param selections facet name to selected value
+     * @return the facet counts
+     */
+    JobFacetsDto getFacets(Map<String, String> selections);
+
+    /**
+     * Reload every ACTIVE job from the database into the search and facet indexes
+     */
+    void rebuildIndex();
+
+}
@@ -0,0 +1,73 @@
+package com.eazybytes.jobportal.search.service.impl;
+
+import com.eazybytes.jobportal.aspects.RecordLatency;
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.dto.JobFacetsDto;
+import com.eazybytes.jobportal.dto.JobSearchResponseDto;
+import com.eazybytes.jobportal.job.counter.ApplicationsCounter;
+import com.eazybytes.jobportal.repository.JobRepository;
+import com.eazybytes.jobportal.search.facet.JobFacetIndex;
+import com.eazybytes.jobportal.search.index.JobSearchHits;
+import com.eazybytes.jobportal.search.index.JobSearchIndex;
+import com.eazybytes.jobportal.search.index.JobSearchQuery;
+import com.eazybytes.jobportal.search.service.IJobSearchService;
+import com.eazybytes.jobportal.util.ApplicationUtility;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RecordLatency
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class JobSearchServiceImpl implements IJobSearchService {
+
+    private final JobRepository jobRepository;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobFacetIndex jobFacetIndex;
+    private final ApplicationsCounter applicationsCounter;
+
+    @Override
+    public JobSearchResponseDto searchJobs(JobSearchQuery query) {
+        JobSearchHits hits = jobSearchIndex.search(query);
+        int totalPages = (hits.totalHits() + query.size() - 1) / query.size();
+        JobFacetsDto facets = jobFacetIndex.counts(facetSelections(query), hits.baseMatches());
+        return new JobSearchResponseDto(hits.jobs(), query.page(), query.size(),
+                hits.totalHits(), totalPages, facets);
+    }
+
+    @Override
+    public JobFacetsDto getFacets(Map<String, String> selections) {
+        return jobFacetIndex.counts(selections, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Override
+    public void rebuildIndex() {
+        List<JobDto> activeJobs = jobRepository.findJobsWithCompanyByStatus(ApplicationConstants.ACTIVE_STATUS)
+                .stream().map(ApplicationUtility::transformJobToDto).map(applicationsCounter::merge).toList();
+        jobSearchIndex.rebuild(activeJobs);
+        jobFacetIndex.rebuild(activeJobs);
+        log.info("Job search index built with {} active jobs", activeJobs.size());
+    }
+
+    private Map<String, String> facetSelections(JobSearchQuery query) {
+        Map<String, String> selections = new HashMap<>();
+        selections.put(JobFacetIndex.CATEGORY, query.category());
+        selections.put(JobFacetIndex.WORK_TYPE, query.workType());
+        selections.put(JobFacetIndex.JOB_TYPE, query.jobType());
+        selections.put(JobFacetIndex.EXPERIENCE_LEVEL, query.experienceLevel());
+        selections.put(JobFacetIndex.REMOTE, query.remote() == null ? null : query.remote().toString());
+        return selections;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.eazybytes.jobportal.security;
+
+/**
+ * What a request needs to be let through, resolved from {@link PathsConfig}.
+ */
+public enum AccessRule {
+
+    PUBLIC(null),
+    ADMIN("ROLE_ADMIN"),
+    EMPLOYER("ROLE_EMPLOYER"),
+    JOB_SEEKER("ROLE_JOB_SEEKER"),
+    AUTHENTICATED(null),
+    DENY(null);
+
+    private final String authority;
+
+    AccessRule(String authority) {
+        this.authority = authority;
+    }
+
+    /**
+     * @return the authority required by a role rule, {@code null} for the other rules
+     */
+    public String getAuthority() {
+        return authority;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.eazybytes.jobportal.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * The user behind an authenticated request, built from the signed claims of the JWT.
+ * {@link #getName()} is the email, so {@code Authentication.getName()} keeps returning it.
+ *
+ * @param userId    the {@code uid} claim
+ * @param companyId the {@code cid} claim, {@code null} for users without a company
+ */
+public record JobPortalPrincipal(Long userId, Long companyId, String email, String name)
+        implements Principal, Serializable {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * @return the company of an employer
+     * @throws RuntimeException if the user has no company assigned
+     */
+    public Long requireCompanyId() {
+        if (companyId == null) {
+            throw new RuntimeException("Employer does not have a company assigned");
+        }
+        return companyId;
+    }
+
+}
@@ -2,14 +2,25 @@ package com.eazybytes.jobportal.security;
 
 import com.eazybytes.jobportal.audit.AuditorAwareImpl;
 import com.eazybytes.jobportal.security.filter.JwtTokenValidatorFilter;
+import com.eazybytes.jobportal.security.password.BCryptWorkFactorCalibrator;
+import com.eazybytes.jobportal.security.password.CompromisedPasswordIndex;
+import com.eazybytes.jobportal.security.password.CompromisedPasswordIndexBuilder;
+import com.eazybytes.jobportal.security.password.LocalCompromisedPasswordChecker;
+import com.eazybytes.jobportal.security.password.PooledPasswordEncoder;
+import com.eazybytes.jobportal.security.ratelimit.RateLimitFilter;
+import com.eazybytes.jobportal.security.ratelimit.RateLimiter;
+import com.eazybytes.jobportal.security.token.JwtTokenService;
 import com.eazybytes.jobportal.security.util.CorsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.ProviderManager;
@@ -20,10 +31,10 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.password.HaveIBeenPwnedRestApiPasswordChecker;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
@@ -32,33 +43,34 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class JobPortalSecurityConfig {
 
-    @Qualifier("publicPaths")
-    private final List<String> publicPaths;
+    private final RouteAccessTable routeAccessTable;
 
-    @Qualifier("securedPaths")
-    private final List<String> securedPaths;
+    private final RouteAuthorizationManager routeAuthorizationManager;
 
-    @Qualifier("adminPaths")
-    private final List<String> adminPaths;
-
-    @Qualifier("employerPaths")
-    private final List<String> employerPaths;
+    private final CorsProperties corsProperties;
 
-    @Qualifier("jobseekerPaths")
-    private final List<String> jobseekerPaths;
+    private final JwtTokenService jwtTokenService;
 
-    private final CorsProperties corsProperties;
+    private final RateLimiter rateLimiter;
 
     @Bean
     SecurityFilterChain customSecurityFilterChain(HttpSecurity http) {
@@ -66,15 +78,10 @@ public class JobPortalSecurityConfig {
                         .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
                         .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler()))
                     .cors(corsConfig -> corsConfig.configurationSource(corsConfigurationSource()))
-                    .authorizeHttpRequests(requests -> {
-                        publicPaths.forEach(path -> requests.requestMatchers(path).permitAll());
-                        adminPaths.forEach(path -> requests.requestMatchers(path).hasRole("ADMIN"));
-                        employerPaths.forEach(path -> requests.requestMatchers(path).hasRole("EMPLOYER"));
-                        jobseekerPaths.forEach(path -> requests.requestMatchers(path).hasRole("JOB_SEEKER"));
-                        securedPaths.forEach(path -> requests.requestMatchers(path).authenticated());
-                        requests.anyRequest().denyAll();
-                    })
-                     .addFilterBefore(new JwtTokenValidatorFilter(publicPaths), BasicAuthenticationFilter.class)
+                    // PathsConfig compiled into one route table, see RouteAccessTable
+                    .authorizeHttpRequests(requests -> requests.anyRequest().access(routeAuthorizationManager))
+                    .addFilterBefore(new RateLimitFilter(rateLimiter), BasicAuthenticationFilter.class)
+                     .addFilterBefore(new JwtTokenValidatorFilter(routeAccessTable, jwtTokenService), BasicAuthenticationFilter.class)
                     .formLogin(flc -> flc.disable())
                     .httpBasic(hbc -> hbc.disable())
                 .exceptionHandling(exception -> exception
@@ -106,13 +113,49 @@ public class JobPortalSecurityConfig {
         return new ProviderManager(authenticationProvider);
     }
 
+    /*
+    Hashes are written as {bcrypt}... at the calibrated strength. Hashes stored before the
+    prefix existed are plain BCrypt and are matched as such, upgradeEncoding reports them
+    (and hashes of a lower strength) so they are rewritten on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.bcrypt-strength:0}") int bcryptStrength,
+            @Value("${security.password-hashing.target-millis:250}") long targetMillis,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int strength = bcryptStrength > 0 ? bcryptStrength
+                : BCryptWorkFactorCalibrator.calibrate(Duration.ofMillis(targetMillis));
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return new PooledPasswordEncoder(encoder,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity, meterRegistry);
     }
 
+    /*
+    Checked against a local index so that registration makes no network call. Without an
+    index file only the small corpus bundled on the classpath is used, which prod refuses.
+     */
     @Bean
-    public CompromisedPasswordChecker compromisedPasswordChecker() {
-        return new HaveIBeenPwnedRestApiPasswordChecker();
+    public CompromisedPasswordChecker compromisedPasswordChecker(
+            @Value("${security.compromised-passwords.index-file:}") String indexFile,
+            @Value("${security.compromised-passwords.require-index:false}") boolean requireIndex) throws IOException {
+        if (!indexFile.isBlank()) {
+            return new LocalCompromisedPasswordChecker(CompromisedPasswordIndex.open(Path.of(indexFile)));
+        }
+        if (requireIndex) {
+            throw new IllegalStateException("security.compromised-passwords.index-file is not set. Build an index "
+                    + "with CompromisedPasswordIndexBuilder and point COMPROMISED_PASSWORDS_INDEX at it");
+        }
+        log.warn("security.compromised-passwords.index-file is not set, passwords are only checked against "
+                + "the small bundled corpus. Set COMPROMISED_PASSWORDS_INDEX to a full index.");
+        try (BufferedReader corpus = new BufferedReader(new InputStreamReader(
+                new ClassPathResource("security/compromised-passwords.txt").getInputStream(),
+                StandardCharsets.UTF_8))) {
+            return new LocalCompromisedPasswordChecker(
+                    CompromisedPasswordIndex.of(CompromisedPasswordIndexBuilder.build(corpus)));
+        }
     }
 }
@@ -1,8 +1,10 @@
 package com.eazybytes.jobportal.security;
 
 import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.exception.PasswordHashingBusyException;
 import com.eazybytes.jobportal.repository.JobPortalUserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -20,6 +22,7 @@ import java.util.List;
 @Profile("prod")
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JobPortalUsernamePwdAuthenticationProvider implements AuthenticationProvider {
 
     private final JobPortalUserRepository jobPortalUserRepository;
@@ -36,12 +39,24 @@ public class JobPortalUsernamePwdAuthenticationProvider implements Authenticatio
         List<SimpleGrantedAuthority> authorities = List.of(
                 new SimpleGrantedAuthority(jobPortalUser.getRole().getName()));
         if (passwordEncoder.matches(pwd, jobPortalUser.getPasswordHash())) {
+            if (passwordEncoder.upgradeEncoding(jobPortalUser.getPasswordHash())) {
+                upgradePasswordHash(jobPortalUser, pwd);
+            }
             return new UsernamePasswordAuthenticationToken(jobPortalUser, null, authorities);
         } else {
             throw new BadCredentialsException("Invalid password!");
         }
     }
 
+    private void upgradePasswordHash(JobPortalUser jobPortalUser, String pwd) {
+        try {
+            jobPortalUserRepository.updatePasswordHashById(passwordEncoder.encode(pwd), jobPortalUser.getId());
+        } catch (PasswordHashingBusyException ex) {
+            // The login already succeeded, the hash is upgraded on a later login
+            log.debug("Skipped the password rehash of user {}, hashing pool is busy", jobPortalUser.getId());
+        }
+    }
+
     @Override
     public boolean supports(Class<?> authentication) {
         return (UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication));
@@ -13,7 +13,10 @@ public class PathsConfig {
         return List.of(
                 "/api/contacts/public",
                 "/api/auth/login/public",
+                "/api/auth/refresh/public",
                 "/api/companies/public",
+                "/api/jobs/search/public",
+                "/api/jobs/facets/public",
                 "/api/auth/register/public",
                 "/api/csrf-token/public",
                 "/api/logging/public",
@@ -42,10 +45,11 @@ public class PathsConfig {
                 "/api/users/profile/jobseeker",
                 "/api/users/profile/picture/jobseeker",
                 "/api/users/profile/resume/jobseeker",
-                "/api/users/saved-jobs/${jobId}/jobseeker",
+                "/api/users/saved-jobs/{jobId}/jobseeker",
                 "/api/users/saved-jobs/jobseeker",
+                "/api/users/saved-jobs/ids/jobseeker",
                 "/api/users/job-applications/jobseeker",
-                "/api/users/job-applications/${jobId}/jobseeker"
+                "/api/users/job-applications/{jobId}/jobseeker"
         );
     }
 
@@ -53,8 +57,13 @@ public class PathsConfig {
     public List<String> employerPaths() {
         return List.of(
                 "/api/jobs/employer",
-                "/api/jobs/${jobId}/status/employer",
-                "/api/jobs/applications/${jobId}/employer",
+                "/api/jobs/bulk/employer",
+                "/api/jobs/scroll/employer",
+                "/api/jobs/{jobId}/status/employer",
+                "/api/jobs/applications/{jobId}/employer",
+                "/api/jobs/applications/{jobId}/scroll/employer",
+                "/api/jobs/applications/{applicationId}/picture/employer",
+                "/api/jobs/applications/{applicationId}/resume/employer",
                 "/api/jobs/applications/employer"
         );
     }
@@ -65,12 +74,14 @@ public class PathsConfig {
                 "/api/contacts/admin",
                 "/api/contacts/sort/admin",
                 "/api/contacts/page/admin",
-                "/api/contacts/${id}/status/admin",
+                "/api/contacts/scroll/admin",
+                "/api/contacts/{id}/status/admin",
                 "/api/companies/admin",
-                "/api/companies/${id}/admin",
+                "/api/companies/import/admin",
+                "/api/companies/{id}/admin",
                 "/api/users/search/admin",
-                "/api/users/${userId}/role/employer/admin",
-                "/api/users/${userId}/role/employer/admin"
+                "/api/users/{userId}/role/employer/admin",
+                "/api/users/{userId}/role/employer/admin"
         );
     }
 
@@ -0,0 +1,101 @@
+package com.eazybytes.jobportal.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The path lists of {@link PathsConfig} compiled once into a route table.
+ * <p>
+ * The lists are checked in precedence order: public, admin, employer, job seeker, secured,
+ * and anything else is denied. Literal paths, which are most of the table, go to a hash map
+ * holding the rule already resolved against the higher precedence patterns, so they cost a
+ * single lookup. Paths with variables or wildcards are compiled to {@link PathPattern}s and
+ * tried in precedence order only when the literal lookup misses.
+ * Shared by {@code JwtTokenValidatorFilter} and {@link RouteAuthorizationManager}.
+ */
+@Component
+public class RouteAccessTable {
+
+    private record Route(PathPattern pattern, AccessRule rule) {
+    }
+
+    private final Map<String, AccessRule> literalRoutes = new HashMap<>();
+    private final List<Route> patternRoutes = new ArrayList<>();
+
+    public RouteAccessTable(@Qualifier("publicPaths") List<String> publicPaths,
+            @Qualifier("adminPaths") List<String> adminPaths,
+            @Qualifier("employerPaths") List<String> employerPaths,
+            @Qualifier("jobseekerPaths") List<String> jobseekerPaths,
+            @Qualifier("securedPaths") List<String> securedPaths) {
+        Map<AccessRule, List<String>> pathsByRule = new LinkedHashMap<>();
+        pathsByRule.put(AccessRule.PUBLIC, publicPaths);
+        pathsByRule.put(AccessRule.ADMIN, adminPaths);
+        pathsByRule.put(AccessRule.EMPLOYER, employerPaths);
+        pathsByRule.put(AccessRule.JOB_SEEKER, jobseekerPaths);
+        pathsByRule.put(AccessRule.AUTHENTICATED, securedPaths);
+
+        PathPatternParser parser = new PathPatternParser();
+        Map<String, AccessRule> literals = new LinkedHashMap<>();
+        pathsByRule.forEach((rule, paths) -> {
+            for (String path : paths) {
+                PathPattern pattern = parser.parse(path);
+                if (pattern.hasPatternSyntax()) {
+                    patternRoutes.add(new Route(pattern, rule));
+                } else {
+                    literals.putIfAbsent(path, rule);
+                }
+            }
+        });
+        // A literal path listed under a lower precedence rule than a matching pattern
+        // resolves to the pattern's rule, exactly as an ordered scan would
+        literals.forEach((path, rule) -> {
+            PathContainer pathContainer = PathContainer.parsePath(path);
+            AccessRule resolved = rule;
+            for (Route route : patternRoutes) {
+                if (route.rule().ordinal() >= rule.ordinal()) {
+                    break;
+                }
+                if (route.pattern().matches(pathContainer)) {
+                    resolved = route.rule();
+                    break;
+                }
+            }
+            literalRoutes.put(path, resolved);
+        });
+    }
+
+    /**
+     * @param path the decoded request path without the context path
+     * @return the rule of the first matching path list, {@link AccessRule#DENY} if none matches
+     */
+    public AccessRule resolve(String path) {
+        AccessRule rule = literalRoutes.get(path);
+        if (rule != null) {
+            return rule;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Route route : patternRoutes) {
+            if (route.pattern().matches(pathContainer)) {
+                return route.rule();
+            }
+        }
+        return AccessRule.DENY;
+    }
+
+    // Decoded like Spring MVC does before routing, /api/companies/%61dmin is an admin path
+    public AccessRule resolve(HttpServletRequest request) {
+        return resolve(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+}
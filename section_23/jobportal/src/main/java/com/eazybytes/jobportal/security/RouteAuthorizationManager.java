@@ -0,0 +1,51 @@
+package com.eazybytes.jobportal.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Authorizes every request with one {@link RouteAccessTable} lookup instead of a chain of
+ * request matchers.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final RouteAccessTable routeAccessTable;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication,
+            RequestAuthorizationContext context) {
+        AccessRule rule = routeAccessTable.resolve(context.getRequest());
+        return new AuthorizationDecision(switch (rule) {
+            case PUBLIC -> true;
+            case DENY -> false;
+            case AUTHENTICATED -> trustResolver.isAuthenticated(authentication.get());
+            case ADMIN, EMPLOYER, JOB_SEEKER -> hasAuthority(authentication.get(), rule.getAuthority());
+        });
+    }
+
+    private boolean hasAuthority(Authentication authentication, String authority) {
+        if (!trustResolver.isAuthenticated(authentication)) {
+            return false;
+        }
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            if (authority.equals(grantedAuthority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -1,37 +1,28 @@
 package com.eazybytes.jobportal.security.filter;
 
 import com.eazybytes.jobportal.constants.ApplicationConstants;
-import io.jsonwebtoken.Claims;
+import com.eazybytes.jobportal.security.AccessRule;
+import com.eazybytes.jobportal.security.RouteAccessTable;
+import com.eazybytes.jobportal.security.token.JwtTokenService;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 @RequiredArgsConstructor
 public class JwtTokenValidatorFilter extends OncePerRequestFilter {
 
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RouteAccessTable routeAccessTable;
 
-    @Qualifier("publicPaths")
-    private final List<String> publicPaths;
+    private final JwtTokenService jwtTokenService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -43,21 +34,8 @@ public class JwtTokenValidatorFilter extends OncePerRequestFilter {
                 // Extract the JWT token
                 // Whoever bears (holds) the token is trusted and can access the protected resource.
                 String jwt = authHeader.substring(7); // Remove 'Bearer ' prefix
-                Environment env = getEnvironment();
-                if (null != env) {
-                    String secret = env.getProperty(ApplicationConstants.JWT_SECRET_KEY,
-                            ApplicationConstants.JWT_SECRET_DEFAULT_VALUE);
-                    SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-                    if (null != secretKey) {
-                        Claims claims = Jwts.parser().verifyWith(secretKey)
-                                .build().parseSignedClaims(jwt).getPayload();
-                        String username = String.valueOf(claims.get("email"));
-                        String roles = String.valueOf(claims.get("roles"));
-                        Authentication authentication = new UsernamePasswordAuthenticationToken(username,
-                                null, AuthorityUtils.commaSeparatedStringToAuthorityList(roles));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
-                }
+                Authentication authentication = jwtTokenService.authenticate(jwt);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
 
             } catch (ExpiredJwtException exception) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -73,8 +51,6 @@ public class JwtTokenValidatorFilter extends OncePerRequestFilter {
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return publicPaths.stream().anyMatch(publicPath ->
-                pathMatcher.match(publicPath, path));
+        return routeAccessTable.resolve(request) == AccessRule.PUBLIC;
     }
 }
@@ -0,0 +1,48 @@
+package com.eazybytes.jobportal.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt strength for this hardware. Every extra strength round doubles the cost of
+ * a hash, so one measurement at the minimum strength is enough to estimate the others.
+ */
+@Slf4j
+public final class BCryptWorkFactorCalibrator {
+
+    // OWASP minimum for BCrypt
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int WARM_UP_HASHES = 2;
+
+    private BCryptWorkFactorCalibrator() {
+    }
+
+    /**
+     * @param target the time one hash should take
+     * @return the highest strength whose estimated hash time does not exceed the target,
+     *         never below {@link #MIN_STRENGTH}
+     */
+    public static int calibrate(Duration target) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MIN_STRENGTH);
+        for (int i = 0; i < WARM_UP_HASHES; i++) {
+            encoder.encode("calibration");
+        }
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        long nanos = System.nanoTime() - start;
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos *= 2;
+        }
+        log.info("BCrypt strength {} selected, about {} ms per hash for a target of {} ms",
+                strength, Duration.ofNanos(nanos).toMillis(), target.toMillis());
+        return strength;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.eazybytes.jobportal.security.password;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only set of SHA-1 digests of breached passwords, stored in the layout written by
+ * {@link CompromisedPasswordIndexBuilder}:
+ * <pre>
+ * magic (int) | version (int) | count (long) | fan-out (65536 ints) | digests (count * 20 bytes)
+ * </pre>
+ * The digests are sorted and unique. Entry {@code p} of the fan-out table is the number of
+ * digests whose first two bytes are {@code <= p}, so a lookup jumps straight to the bucket of
+ * its prefix and only binary searches inside it, a handful of comparisons even for the full
+ * HaveIBeenPwned corpus. Index files are memory-mapped, the OS page cache keeps the hot pages
+ * and the heap only holds the mapping.
+ */
+public final class CompromisedPasswordIndex implements AutoCloseable {
+
+    static final int MAGIC = 0x43505749; // "CPWI"
+    static final int VERSION = 1;
+    static final int DIGEST_LENGTH = 20;
+    static final int FAN_OUT_SIZE = 1 << 16;
+    static final long HEADER_LENGTH = 16L + FAN_OUT_SIZE * 4L;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final MemorySegment segment;
+    private final Arena arena;
+    private final long count;
+
+    private CompromisedPasswordIndex(MemorySegment segment, Arena arena) {
+        if (segment.byteSize() < HEADER_LENGTH || segment.get(INT, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a compromised password index");
+        }
+        if (segment.get(INT, 4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported compromised password index version "
+                    + segment.get(INT, 4));
+        }
+        this.count = segment.get(LONG, 8);
+        if (segment.byteSize() != HEADER_LENGTH + count * DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Truncated compromised password index");
+        }
+        this.segment = segment;
+        this.arena = arena;
+    }
+
+    /**
+     * Memory-map an index file
+     * @param indexFile the file written by {@link CompromisedPasswordIndexBuilder}
+     * @return the index, close it to unmap the file
+     */
+    public static CompromisedPasswordIndex open(Path indexFile) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            return new CompromisedPasswordIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena),
+                    arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wrap an index already held in memory, used for the small corpus bundled with the application
+     * @param index the bytes written by {@link CompromisedPasswordIndexBuilder}
+     * @return the index
+     */
+    public static CompromisedPasswordIndex of(byte[] index) {
+        return new CompromisedPasswordIndex(MemorySegment.ofArray(index), null);
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @param digest the SHA-1 digest of a password
+     * @return whether the digest is part of the index
+     */
+    public boolean contains(byte[] digest) {
+        if (digest.length != DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Expected a SHA-1 digest");
+        }
+        int prefix = ((digest[0] & 0xFF) << 8) | (digest[1] & 0xFF);
+        long low = prefix == 0 ? 0 : fanOut(prefix - 1);
+        long high = fanOut(prefix) - 1;
+        MemorySegment key = MemorySegment.ofArray(digest);
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int comparison = compare(HEADER_LENGTH + middle * DIGEST_LENGTH, key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long fanOut(int prefix) {
+        return Integer.toUnsignedLong(segment.get(INT, 16L + prefix * 4L));
+    }
+
+    // Unsigned comparison of the stored digest at offset with the key
+    private int compare(long offset, MemorySegment key) {
+        long mismatch = MemorySegment.mismatch(segment, offset, offset + DIGEST_LENGTH, key, 0, DIGEST_LENGTH);
+        if (mismatch < 0) {
+            return 0;
+        }
+        return Integer.compare(segment.get(ValueLayout.JAVA_BYTE, offset + mismatch) & 0xFF,
+                key.get(ValueLayout.JAVA_BYTE, mismatch) & 0xFF);
+    }
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+}
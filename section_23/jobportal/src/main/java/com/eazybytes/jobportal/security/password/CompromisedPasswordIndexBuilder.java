@@ -0,0 +1,185 @@
+package com.eazybytes.jobportal.security.password;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a text dump of breached passwords into a {@link CompromisedPasswordIndex} file.
+ * <p>
+ * Every line is either a hash in the HaveIBeenPwned download format ({@code SHA1HEX} or
+ * {@code SHA1HEX:count}) or a plain text password, which is hashed. Blank lines and lines
+ * starting with {@code #} are skipped. Input that is already sorted by hash, like the
+ * HaveIBeenPwned downloads, is streamed through a temporary file, so a corpus of any size can
+ * be converted. Unsorted input is sorted in memory.
+ * <pre>
+ * java -cp target/classes com.eazybytes.jobportal.security.password.CompromisedPasswordIndexBuilder \
+ *     pwnedpasswords.txt compromised-passwords.idx
+ * </pre>
+ */
+public final class CompromisedPasswordIndexBuilder {
+
+    private static final Pattern SHA1_LINE = Pattern.compile("^[0-9A-Fa-f]{40}(:\\d+)?$");
+
+    private CompromisedPasswordIndexBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompromisedPasswordIndexBuilder <text dump> <index file>");
+            System.exit(1);
+        }
+        long count = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + count + " digests to " + args[1]);
+    }
+
+    /**
+     * Convert a text dump into an index file
+     * @param source the text dump
+     * @param target the index file to write
+     * @return the number of distinct digests written
+     */
+    public static long build(Path source, Path target) throws IOException {
+        Path body = Files.createTempFile("compromised-passwords", ".body");
+        try {
+            int[] counts = new int[CompromisedPasswordIndex.FAN_OUT_SIZE];
+            long count = 0;
+            boolean sorted = true;
+            byte[] previous = null;
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(body))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    byte[] digest = toDigest(line);
+                    if (digest == null) {
+                        continue;
+                    }
+                    if (previous != null) {
+                        int comparison = Arrays.compareUnsigned(previous, digest);
+                        if (comparison == 0) {
+                            continue;
+                        }
+                        sorted &= comparison < 0;
+                    }
+                    out.write(digest);
+                    counts[prefix(digest)]++;
+                    count++;
+                    previous = digest;
+                }
+            }
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+                if (sorted) {
+                    try (InputStream in = Files.newInputStream(body)) {
+                        writeHeader(out, count, counts);
+                        in.transferTo(out);
+                    }
+                } else {
+                    List<byte[]> digests = new ArrayList<>(Math.toIntExact(count));
+                    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(body)))) {
+                        for (long i = 0; i < count; i++) {
+                            byte[] digest = new byte[CompromisedPasswordIndex.DIGEST_LENGTH];
+                            in.readFully(digest);
+                            digests.add(digest);
+                        }
+                    }
+                    count = write(digests, out);
+                }
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(body);
+        }
+    }
+
+    /**
+     * Convert a small text dump into an index held in memory
+     * @param source the text dump
+     * @return the bytes of the index, see {@link CompromisedPasswordIndex#of(byte[])}
+     */
+    public static byte[] build(BufferedReader source) throws IOException {
+        List<byte[]> digests = new ArrayList<>();
+        String line;
+        while ((line = source.readLine()) != null) {
+            byte[] digest = toDigest(line);
+            if (digest != null) {
+                digests.add(digest);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(digests, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * @param password a plain text password
+     * @return the SHA-1 digest of its UTF-8 bytes, the hash HaveIBeenPwned publishes
+     */
+    public static byte[] sha1(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    static byte[] toDigest(String line) {
+        if (line.isBlank() || line.startsWith("#")) {
+            return null;
+        }
+        if (SHA1_LINE.matcher(line.strip()).matches()) {
+            return HexFormat.of().parseHex(line.strip(), 0, 2 * CompromisedPasswordIndex.DIGEST_LENGTH);
+        }
+        return sha1(line);
+    }
+
+    private static long write(List<byte[]> digests, OutputStream target) throws IOException {
+        digests.sort(Arrays::compareUnsigned);
+        List<byte[]> distinct = new ArrayList<>(digests.size());
+        int[] counts = new int[CompromisedPasswordIndex.FAN_OUT_SIZE];
+        for (byte[] digest : digests) {
+            if (distinct.isEmpty() || !Arrays.equals(distinct.getLast(), digest)) {
+                distinct.add(digest);
+                counts[prefix(digest)]++;
+            }
+        }
+        writeHeader(target, distinct.size(), counts);
+        for (byte[] digest : distinct) {
+            target.write(digest);
+        }
+        return distinct.size();
+    }
+
+    private static void writeHeader(OutputStream target, long count, int[] counts) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(CompromisedPasswordIndex.MAGIC);
+        out.writeInt(CompromisedPasswordIndex.VERSION);
+        out.writeLong(count);
+        long cumulative = 0;
+        for (int prefixCount : counts) {
+            cumulative += prefixCount;
+            out.writeInt((int) cumulative);
+        }
+        out.flush();
+    }
+
+    private static int prefix(byte[] digest) {
+        return ((digest[0] & 0xFF) << 8) | (digest[1] & 0xFF);
+    }
+
+}
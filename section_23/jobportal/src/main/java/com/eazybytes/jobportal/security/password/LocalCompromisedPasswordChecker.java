@@ -0,0 +1,32 @@
+package com.eazybytes.jobportal.security.password;
+
+import org.springframework.security.authentication.password.CompromisedPasswordChecker;
+import org.springframework.security.authentication.password.CompromisedPasswordDecision;
+
+/**
+ * {@link CompromisedPasswordChecker} answered from a local {@link CompromisedPasswordIndex}.
+ * Unlike the HaveIBeenPwned REST checker it never leaves the process, so registration
+ * neither waits for nor fails on the network.
+ */
+public class LocalCompromisedPasswordChecker implements CompromisedPasswordChecker, AutoCloseable {
+
+    private final CompromisedPasswordIndex index;
+
+    public LocalCompromisedPasswordChecker(CompromisedPasswordIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public CompromisedPasswordDecision check(String password) {
+        if (password == null) {
+            return new CompromisedPasswordDecision(false);
+        }
+        return new CompromisedPasswordDecision(index.contains(CompromisedPasswordIndexBuilder.sha1(password)));
+    }
+
+    @Override
+    public void close() {
+        index.close();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.eazybytes.jobportal.security.password;
+
+import com.eazybytes.jobportal.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing of a {@link PasswordEncoder} on a dedicated, bounded pool.
+ * <p>
+ * A burst of logins used to pin every servlet thread on BCrypt and starve the catalog reads.
+ * With the pool at most {@code threads} hashes run at once and at most {@code queueCapacity}
+ * wait. Beyond that the request fails fast with {@link PasswordHashingBusyException}, which
+ * the API answers with 429, instead of queueing work it cannot finish in time.
+ * {@link #upgradeEncoding(String)} does not hash and is answered on the caller thread.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("jobportal.password.hashing")
+                .description("Time spent hashing a password").tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("jobportal.password.hashing")
+                .description("Time spent hashing a password").tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("jobportal.password.hashing.rejected")
+                .description("Hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("jobportal.password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing requests waiting for a thread").register(meterRegistry);
+        Gauge.builder("jobportal.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads busy").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(hashing));
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+}
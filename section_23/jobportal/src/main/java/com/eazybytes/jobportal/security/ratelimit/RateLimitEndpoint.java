@@ -0,0 +1,26 @@
+package com.eazybytes.jobportal.security.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/ratelimits}: the configured limits with their tracked clients and the
+ * number of allowed and rejected requests since startup
+ */
+@Component
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    @ReadOperation
+    public Map<String, RateLimiter.LimitStats> rateLimits() {
+        return rateLimiter.stats();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.eazybytes.jobportal.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+
+/**
+ * Throttles the open endpoints configured under {@code rate-limit.paths} per client IP.
+ * Runs ahead of {@code JwtTokenValidatorFilter}, so a refused request costs neither a token
+ * check nor a BCrypt hash nor a database round trip. The client IP is the remote address,
+ * behind a proxy set {@code server.forward-headers-strategy} so that it is the real client.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(path(request), request.getRemoteAddr());
+        if (!decision.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\": \"Too Many Requests\", \"message\": \"Rate limit exceeded, retry after "
+                    + decision.retryAfterSeconds() + " seconds\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isLimited(path(request));
+    }
+
+    // Decoded like Spring MVC does before routing, /api/auth/%6Cogin/public is the login path
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+}
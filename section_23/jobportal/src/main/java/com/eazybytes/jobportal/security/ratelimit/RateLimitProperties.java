@@ -0,0 +1,54 @@
+package com.eazybytes.jobportal.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter @Setter
+public class RateLimitProperties {
+
+    /**
+     * Switch the rate limiting off, e.g. for load tests
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of client buckets kept per rule, the least recently used are evicted
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * Per path limits applied to every client IP
+     */
+    private List<Limit> paths = new ArrayList<>();
+
+    /**
+     * Limit applied to every username trying to log in, whatever the client IP
+     */
+    private Limit login = new Limit();
+
+    @Getter @Setter
+    public static class Limit {
+
+        /**
+         * The decoded request path without the context path, e.g. /api/auth/login/public
+         */
+        private String path;
+
+        /**
+         * Requests allowed in a burst
+         */
+        private int capacity = 10;
+
+        /**
+         * Time to refill the whole capacity
+         */
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.eazybytes.jobportal.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets per client, one bounded map of buckets per configured limit.
+ * <p>
+ * Buckets live in a Caffeine cache capped at {@code rate-limit.max-buckets} entries and
+ * dropped once idle for a whole refill period, at which point they would be full anyway.
+ * A client rotating addresses can only evict other idle buckets, never grow the heap.
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * Outcome of one request
+     * @param retryAfterNanos 0 when allowed, otherwise the time until a token is available
+     */
+    public record Decision(boolean allowed, long retryAfterNanos) {
+
+        private static final Decision ALLOWED = new Decision(true, 0);
+
+        public long retryAfterSeconds() {
+            // Rounded up, a client retrying after a truncated value would be refused again
+            return Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+
+    /**
+     * State of one limit, exposed through the {@code ratelimits} actuator endpoint
+     */
+    public record LimitStats(int capacity, Duration period, long trackedClients, long allowed, long rejected) {
+    }
+
+    static final String LOGIN_LIMIT = "login-username";
+
+    private final class Limit {
+
+        private final int capacity;
+        private final Duration period;
+        private final Cache<String, TokenBucket> buckets;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Limit(RateLimitProperties.Limit limit) {
+            this.capacity = limit.getCapacity();
+            this.period = limit.getPeriod();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxBuckets)
+                    .expireAfterAccess(period)
+                    .build();
+        }
+
+        private Decision tryAcquire(String client) {
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.get(client, _ -> new TokenBucket(capacity, period.toNanos(), now));
+            long waitNanos = bucket.tryConsume(now);
+            if (waitNanos == 0) {
+                allowed.increment();
+                return Decision.ALLOWED;
+            }
+            rejected.increment();
+            return new Decision(false, waitNanos);
+        }
+
+        private LimitStats stats() {
+            return new LimitStats(capacity, period, buckets.estimatedSize(), allowed.sum(), rejected.sum());
+        }
+    }
+
+    private final boolean enabled;
+    private final long maxBuckets;
+    private final Map<String, Limit> pathLimits = new HashMap<>();
+    private final Limit loginLimit;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maxBuckets = properties.getMaxBuckets();
+        for (RateLimitProperties.Limit limit : properties.getPaths()) {
+            pathLimits.put(limit.getPath(), new Limit(limit));
+        }
+        this.loginLimit = new Limit(properties.getLogin());
+    }
+
+    /**
+     * @param path the request path without the context path
+     * @return whether requests to this path are rate limited
+     */
+    public boolean isLimited(String path) {
+        return enabled && pathLimits.containsKey(path);
+    }
+
+    /**
+     * Take a token from the bucket of a client for a path
+     * @param path the request path without the context path
+     * @param clientIp the address of the client
+     * @return the decision, always allowed for paths without a limit
+     */
+    public Decision tryAcquire(String path, String clientIp) {
+        Limit limit = enabled ? pathLimits.get(path) : null;
+        return limit == null ? Decision.ALLOWED : limit.tryAcquire(clientIp);
+    }
+
+    /**
+     * Take a token from the login bucket of a username, so that credential stuffing spread
+     * over many addresses is still throttled per account
+     * @param username the username being logged in
+     * @return the decision
+     */
+    public Decision tryAcquireLogin(String username) {
+        if (!enabled || username == null) {
+            return Decision.ALLOWED;
+        }
+        return loginLimit.tryAcquire(username.trim().toLowerCase());
+    }
+
+    public Map<String, LimitStats> stats() {
+        Map<String, LimitStats> stats = new LinkedHashMap<>();
+        List<String> paths = new ArrayList<>(pathLimits.keySet());
+        Collections.sort(paths);
+        paths.forEach(path -> stats.put(path, pathLimits.get(path).stats()));
+        stats.put(LOGIN_LIMIT, loginLimit.stats());
+        return stats;
+    }
+
+}
@@ -0,0 +1,320 @@
+package com.eazybytes.jobportal.security.token;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.security.JobPortalPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies the JWTs of the application.
+ * <p>
+ * The HMAC keys and the parser are built once at startup. Tokens are signed with the active
+ * key and carry its ID in the {@code kid} header, tokens signed with a retired key listed in
+ * {@code jwt.verification-keys} keep working until they expire, which allows rotating the
+ * secret without logging everybody out. A verified token is cached with its
+ * {@link Authentication} until its {@code exp}, so repeat requests skip the signature check
+ * and the claim parsing.
+ * <p>
+ * Tokens carry the user ID ({@code uid}) and company ID ({@code cid}) so that requests are
+ * served by ID without looking the user up by email.
+ * <p>
+ * Access tokens are short-lived. A longer-lived refresh token, which only carries the user ID,
+ * is exchanged on {@code /auth/refresh} for a new pair built from the current user record, so
+ * role and company changes apply from the next refresh. Refresh tokens rotate: the one
+ * presented is revoked. Every token has a {@code jti} and is checked against the
+ * {@link TokenRevocationList}, including tokens served from the verified token cache.
+ * <p>
+ * The tokens issued from one login share a family ID ({@code fid}). Presenting a refresh token
+ * that was already rotated revokes the whole family, the legitimate client and whoever replayed
+ * the token both have to log in again.
+ */
+@Component
+@PropertySource(value = "classpath:jwt.properties")
+public class JwtTokenService {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String COMPANY_ID_CLAIM = "cid";
+    public static final String FAMILY_ID_CLAIM = "fid";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN_TYPE = "access";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    /**
+     * A rotated refresh token, the next refresh token of the family has to be issued with
+     * {@link #generateRefreshToken(JobPortalUser, RefreshGrant)}
+     */
+    public record RefreshGrant(Long userId, UUID familyId, UUID nextTokenId) {
+    }
+
+    private record VerifiedToken(Authentication authentication, Long userId, UUID tokenId, UUID familyId,
+            Instant issuedAt, Instant expiresAt) {
+    }
+
+    private final TokenRevocationList revocationList;
+    private final String activeKeyId;
+    private final SecretKey signingKey;
+    private final Map<String, SecretKey> verificationKeys = new HashMap<>();
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    @Value("${jwt.issuer:Job Portal}")
+    private String jwtIssuer;
+
+    @Value("${jwt.subject:JWT Token}")
+    private String jwtSubject;
+
+    @Value("${jwt.access-token.minutes:15}")
+    private long accessTokenMinutes;
+
+    @Value("${jwt.refresh-token.days:7}")
+    private long refreshTokenDays;
+
+    /**
+     * @param activeKeyId      the {@code kid} of the key signing new tokens, its secret is
+     *                         the {@code JWT_SECRET} property
+     * @param retiredKeys      comma separated {@code kid=secret} pairs still accepted for
+     *                         verification
+     * @param verifiedCacheSize maximum number of verified tokens kept in memory
+     */
+    public JwtTokenService(Environment env, TokenRevocationList revocationList,
+            @Value("${jwt.key-id:default}") String activeKeyId,
+            @Value("${jwt.verification-keys:}") List<String> retiredKeys,
+            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+        this.revocationList = revocationList;
+        this.activeKeyId = activeKeyId;
+        String secret = env.getProperty(ApplicationConstants.JWT_SECRET_KEY,
+                ApplicationConstants.JWT_SECRET_DEFAULT_VALUE);
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        for (String retiredKey : retiredKeys) {
+            String[] idAndSecret = retiredKey.trim().split("=", 2);
+            if (idAndSecret.length != 2 || idAndSecret[0].isBlank()) {
+                throw new IllegalStateException("Invalid jwt.verification-keys entry, expected kid=secret");
+            }
+            verificationKeys.put(idAndSecret[0], Keys.hmacShaKeyFor(idAndSecret[1].getBytes(StandardCharsets.UTF_8)));
+        }
+        verificationKeys.put(activeKeyId, signingKey);
+        // JwtParser is immutable and thread safe, one instance serves every request
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                // Tokens issued before key IDs were introduced carry no kid
+                String keyId = header.getKeyId() == null ? JwtTokenService.this.activeKeyId : header.getKeyId();
+                SecretKey key = verificationKeys.get(keyId);
+                if (key == null) {
+                    throw new JwtException("Unknown signing key " + keyId);
+                }
+                return key;
+            }
+        }).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((String _, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
+    }
+
+    /**
+     * Issue a short-lived access token
+     * @param authentication an authentication whose principal is the {@link JobPortalUser}
+     * @param familyId       the token family of the login session
+     * @return the compact token
+     */
+    public String generateJwtToken(Authentication authentication, UUID familyId) {
+        var fetchedUser = (JobPortalUser) authentication.getPrincipal();
+        Date issuedAt = new Date();
+        return Jwts.builder().header().keyId(activeKeyId).and()
+                .issuer(jwtIssuer).subject(jwtSubject)
+                .id(UUID.randomUUID().toString())
+                .claim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE)
+                .claim(FAMILY_ID_CLAIM, familyId.toString())
+                .claim(USER_ID_CLAIM, fetchedUser.getId())
+                .claim(COMPANY_ID_CLAIM, fetchedUser.getCompany() != null ? fetchedUser.getCompany().getId() : null)
+                .claim("name", fetchedUser.getName())
+                .claim("email", fetchedUser.getEmail())
+                .claim("mobileNumber", fetchedUser.getMobileNumber())
+                .claim("roles", authentication.getAuthorities().stream().map(
+                        GrantedAuthority::getAuthority).collect(Collectors.joining(",")))
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + Duration.ofMinutes(accessTokenMinutes).toMillis()))
+                .signWith(signingKey).compact();
+    }
+
+    /**
+     * Issue the first refresh token of a login session, it only identifies the user
+     * @param user     the user the token is issued to
+     * @param familyId the token family of the login session
+     * @return the compact token
+     */
+    public String generateRefreshToken(JobPortalUser user, UUID familyId) {
+        return generateRefreshToken(user, familyId, UUID.randomUUID());
+    }
+
+    /**
+     * Issue the refresh token that replaces a rotated one
+     * @param user  the user the token is issued to
+     * @param grant the result of {@link #rotateRefreshToken(String)}
+     * @return the compact token
+     */
+    public String generateRefreshToken(JobPortalUser user, RefreshGrant grant) {
+        return generateRefreshToken(user, grant.familyId(), grant.nextTokenId());
+    }
+
+    private String generateRefreshToken(JobPortalUser user, UUID familyId, UUID tokenId) {
+        Date issuedAt = new Date();
+        return Jwts.builder().header().keyId(activeKeyId).and()
+                .issuer(jwtIssuer).subject(jwtSubject)
+                .id(tokenId.toString())
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .claim(FAMILY_ID_CLAIM, familyId.toString())
+                .claim(USER_ID_CLAIM, user.getId())
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + Duration.ofDays(refreshTokenDays).toMillis()))
+                .signWith(signingKey).compact();
+    }
+
+    /**
+     * Verify a refresh token and rotate it, the caller issues the next pair. Of concurrent
+     * requests presenting the same token only one succeeds, and the family is then revoked.
+     * @param refreshToken the compact refresh token
+     * @return the user and the ID of the next refresh token of the family
+     * @throws JwtException if the token is invalid, expired, revoked, already rotated or not
+     * a refresh token
+     */
+    public RefreshGrant rotateRefreshToken(String refreshToken) {
+        Claims claims = parser.parseSignedClaims(refreshToken).getPayload();
+        if (!REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))) {
+            throw new JwtException("Not a refresh token");
+        }
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        UUID tokenId = tokenId(claims);
+        if (userId == null || tokenId == null) {
+            throw new JwtException("Refresh token revoked");
+        }
+        // Refresh tokens issued before families existed start their own
+        UUID familyId = Objects.requireNonNullElse(familyId(claims), tokenId);
+        if (revocationList.isRevoked(userId, tokenId, familyId, claims.getIssuedAt().toInstant())) {
+            // Possibly a rotated token replayed, whoever holds the newer one is cut off as well
+            revocationList.revoke(familyId);
+            throw new JwtException("Refresh token revoked");
+        }
+        UUID nextTokenId = UUID.randomUUID();
+        if (!revocationList.rotate(familyId, tokenId, nextTokenId)) {
+            throw new JwtException("Refresh token reused");
+        }
+        return new RefreshGrant(userId, familyId, nextTokenId);
+    }
+
+    /**
+     * Revoke one token and its family, for a logout of the current session. Invalid or expired
+     * tokens are ignored, they cannot be used anyway.
+     * @param jwt the compact access or refresh token
+     */
+    public void revoke(String jwt) {
+        try {
+            Claims claims = parser.parseSignedClaims(jwt).getPayload();
+            UUID tokenId = tokenId(claims);
+            UUID familyId = familyId(claims);
+            if (tokenId != null) {
+                revocationList.revoke(tokenId);
+                verifiedTokens.invalidate(jwt);
+            }
+            if (familyId != null) {
+                revocationList.revoke(familyId);
+            }
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Nothing to revoke
+        }
+    }
+
+    /**
+     * Revoke every token issued to a user so far, for a logout from all devices
+     * @param userId the ID of the user
+     */
+    public void revokeAll(Long userId) {
+        revocationList.revokeAll(userId);
+    }
+
+    /**
+     * Verify a token and build the matching authentication
+     * @param jwt the compact token
+     * @return the authenticated user with the roles of the token
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws JwtException if the token is invalid, revoked or a refresh token
+     */
+    public Authentication authenticate(String jwt) {
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(jwt);
+        if (verifiedToken == null) {
+            verifiedToken = verify(jwt);
+        }
+        if (revocationList.isRevoked(verifiedToken.userId(), verifiedToken.tokenId(), verifiedToken.familyId(),
+                verifiedToken.issuedAt())) {
+            throw new JwtException("Token revoked");
+        }
+        return verifiedToken.authentication();
+    }
+
+    private VerifiedToken verify(String jwt) {
+        Claims claims = parser.parseSignedClaims(jwt).getPayload();
+        // Tokens issued before refresh tokens existed have no type and are access tokens
+        if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))) {
+            throw new JwtException("Refresh tokens are only accepted by /auth/refresh");
+        }
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            // Issued before the id claims existed, the user has to log in again
+            throw new JwtException("Token without " + USER_ID_CLAIM + " claim");
+        }
+        JobPortalPrincipal principal = new JobPortalPrincipal(userId, claims.get(COMPANY_ID_CLAIM, Long.class),
+                claims.get("email", String.class), claims.get("name", String.class));
+        String roles = String.valueOf(claims.get("roles"));
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null,
+                AuthorityUtils.commaSeparatedStringToAuthorityList(roles));
+        VerifiedToken verifiedToken = new VerifiedToken(authentication, userId, tokenId(claims), familyId(claims),
+                claims.getIssuedAt() == null ? Instant.EPOCH : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        if (verifiedToken.expiresAt() != null) {
+            verifiedTokens.put(jwt, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    private static UUID tokenId(Claims claims) {
+        return claims.getId() == null ? null : UUID.fromString(claims.getId());
+    }
+
+    private static UUID familyId(Claims claims) {
+        String familyId = claims.get(FAMILY_ID_CLAIM, String.class);
+        return familyId == null ? null : UUID.fromString(familyId);
+    }
+
+}
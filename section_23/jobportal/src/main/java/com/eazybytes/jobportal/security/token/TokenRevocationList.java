@@ -0,0 +1,154 @@
+package com.eazybytes.jobportal.security.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation state checked on every authenticated request, without a database hit.
+ * <p>
+ * Two structures cover the ways a token is revoked:
+ * <ul>
+ *     <li>a per user epoch, every token of the user issued in an earlier second is revoked
+ *     (logout from all devices)</li>
+ *     <li>a Bloom filter of revoked token IDs and token family IDs (rotated refresh tokens,
+ *     logout of one session, reuse of a rotated refresh token)</li>
+ * </ul>
+ * All the tokens issued from one login share a family ID. For each family the ID of the only
+ * refresh token that may be used next is kept, and rotating swaps it atomically, so of two
+ * requests presenting the same refresh token only one gets a new pair. The other one is a
+ * reuse: the refresh token was stolen or replayed, and the whole family is revoked. A family
+ * evicted from {@code jwt.revocation.max-families}, or unknown after a restart, accepts its
+ * next rotation, the rotated token IDs in the Bloom filter still catch replays.
+ * A revoked token only has to be remembered until it would have expired anyway, so the Bloom
+ * filter is a pair of generations each spanning one refresh token lifetime: the older one is
+ * dropped when a new one starts, which keeps the false positive rate from growing forever.
+ * A false positive rejects a valid token and the user has to log in again.
+ * The state is local to the instance, replicas have to share the revocations to honour them.
+ */
+@Component
+public class TokenRevocationList {
+
+    private record Generation(JtiBloomFilter filter, Instant startedAt) {
+    }
+
+    private final Clock clock;
+    private final Duration retention;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    // Family ID to the ID of the refresh token that may be rotated next
+    private final Cache<UUID, UUID> nextRefreshTokens;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    @Autowired
+    public TokenRevocationList(@Value("${jwt.refresh-token.days:7}") long refreshTokenDays,
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${jwt.revocation.max-families:200000}") long maxFamilies) {
+        this(refreshTokenDays, expectedRevocations, falsePositiveRate, maxFamilies, Clock.systemUTC());
+    }
+
+    TokenRevocationList(long refreshTokenDays, long expectedRevocations, double falsePositiveRate,
+            long maxFamilies, Clock clock) {
+        this.clock = clock;
+        this.retention = Duration.ofDays(refreshTokenDays);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.nextRefreshTokens = Caffeine.newBuilder()
+                .maximumSize(maxFamilies)
+                .expireAfterWrite(retention)
+                .build();
+        this.current = newGeneration(clock.instant());
+        this.previous = newGeneration(clock.instant());
+    }
+
+    /**
+     * @param userId   the {@code uid} claim of the token
+     * @param jti      the {@code jti} claim of the token, {@code null} for tokens issued
+     *                 before token IDs existed
+     * @param familyId the {@code fid} claim of the token, {@code null} for tokens issued
+     *                 before token families existed
+     * @param issuedAt the {@code iat} claim of the token
+     * @return whether the token has been revoked
+     */
+    public boolean isRevoked(Long userId, UUID jti, UUID familyId, Instant issuedAt) {
+        // iat has a precision of one second, a token issued in the second of the logout survives it
+        Long epoch = revokedBefore.get(userId);
+        if (epoch != null && issuedAt.getEpochSecond() < epoch) {
+            return true;
+        }
+        return isRevoked(jti) || isRevoked(familyId);
+    }
+
+    /**
+     * Rotate the refresh token of a family, atomically
+     * @param familyId    the family of the presented refresh token
+     * @param presentedId the ID of the presented refresh token
+     * @param nextId      the ID of the refresh token issued in exchange
+     * @return {@code false} if the presented token was already rotated, the family is then revoked
+     */
+    public boolean rotate(UUID familyId, UUID presentedId, UUID nextId) {
+        UUID next = nextRefreshTokens.asMap().compute(familyId, (_, expected) ->
+                expected == null || expected.equals(presentedId) ? nextId : expected);
+        if (!nextId.equals(next)) {
+            revoke(familyId);
+            return false;
+        }
+        revoke(presentedId);
+        return true;
+    }
+
+    /**
+     * Revoke a single token
+     * @param jti the {@code jti} claim of the token
+     */
+    public void revoke(UUID jti) {
+        rollGenerationIfDue();
+        current.filter().add(jti);
+    }
+
+    /**
+     * Revoke every token issued to a user so far
+     * @param userId the ID of the user
+     */
+    public void revokeAll(Long userId) {
+        long now = clock.instant().getEpochSecond();
+        revokedBefore.merge(userId, now, Math::max);
+        // Past the retention every token issued before the epoch has expired anyway
+        long expired = now - retention.toSeconds();
+        revokedBefore.values().removeIf(epoch -> epoch < expired);
+    }
+
+    private boolean isRevoked(UUID id) {
+        return id != null && (current.filter().mightContain(id) || previous.filter().mightContain(id));
+    }
+
+    private void rollGenerationIfDue() {
+        Instant now = clock.instant();
+        if (current.startedAt().plus(retention).isAfter(now)) {
+            return;
+        }
+        synchronized (this) {
+            if (!current.startedAt().plus(retention).isAfter(now)) {
+                previous = current;
+                current = newGeneration(now);
+            }
+        }
+    }
+
+    private Generation newGeneration(Instant startedAt) {
+        return new Generation(new JtiBloomFilter(expectedRevocations, falsePositiveRate), startedAt);
+    }
+
+}
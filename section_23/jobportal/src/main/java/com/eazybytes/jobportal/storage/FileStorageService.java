@@ -0,0 +1,30 @@
+package com.eazybytes.jobportal.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for uploaded files. Files are keyed by the SHA-256 of their
+ * content, so uploading the same bytes twice stores them once.
+ */
+public interface FileStorageService {
+
+    /**
+     * Stream the content to the store without buffering it on the heap
+     * @param content the content to store, closed by this method
+     * @return the hash and size of the stored content
+     * @throws IOException if the content can not be read or written
+     */
+    StoredFile store(InputStream content) throws IOException;
+
+    /**
+     * Look up stored content by its hash
+     * @param hash the SHA-256 returned by {@link #store(InputStream)}
+     * @return a readable resource, empty if nothing is stored under that hash
+     */
+    Optional<Resource> load(String hash);
+
+}
@@ -0,0 +1,87 @@
+package com.eazybytes.jobportal.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link FileStorageService} on the local filesystem. A file with hash {@code abcdef...} is
+ * stored as {@code <base-dir>/ab/cd/abcdef...}. Uploads are first streamed into a temporary
+ * file while the hash is computed, then atomically moved to their final location.
+ */
+@Component
+@Slf4j
+public class LocalFileStorageService implements FileStorageService {
+
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path baseDir;
+    private final Path tempDir;
+
+    public LocalFileStorageService(@Value("${storage.local.base-dir:./data/files}") String baseDir)
+            throws IOException {
+        this.baseDir = Path.of(baseDir).toAbsolutePath().normalize();
+        this.tempDir = this.baseDir.resolve("tmp");
+        Files.createDirectories(tempDir);
+    }
+
+    @Override
+    public StoredFile store(InputStream content) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long size;
+            try (InputStream digestStream = new DigestInputStream(content, digest)) {
+                size = Files.copy(digestStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(hash);
+            if (Files.exists(target)) {
+                log.debug("Content {} already stored, upload deduplicated", hash);
+                return new StoredFile(hash, size);
+            }
+            Files.createDirectories(target.getParent());
+            // Same filesystem as the temp dir, so the rename is atomic
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredFile(hash, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String hash) {
+        if (hash == null || !SHA_256_HEX.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path file = resolve(hash);
+        return Files.isReadable(file) ? Optional.of(new FileSystemResource(file)) : Optional.empty();
+    }
+
+    private Path resolve(String hash) {
+        return baseDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.eazybytes.jobportal.storage;
+
+import com.eazybytes.jobportal.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * One-off job moving the resume and profile picture BLOBs out of the profiles table into the
+ * {@link FileStorageService}. Enable it with {@code storage.migration.enabled=true}, it runs
+ * in the background after startup, one profile per transaction so only a single file is on
+ * the heap at any time. Already migrated profiles are skipped, so it is safe to re-run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileFileMigrationJob {
+
+    private final ProfileRepository profileRepository;
+    private final ProfileFileService profileFileService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${storage.migration.enabled:false}")
+    private boolean migrationEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (migrationEnabled) {
+            Thread.ofVirtual().name("profile-file-migration").start(this::migrate);
+        }
+    }
+
+    public void migrate() {
+        List<Long> profileIds = profileRepository.findProfileIdsWithLegacyFiles();
+        log.info("Moving the files of {} profiles to the file store", profileIds.size());
+        int migrated = 0;
+        for (Long profileId : profileIds) {
+            try {
+                Boolean moved = transactionTemplate.execute(_ -> profileRepository.findById(profileId)
+                        .map(profile -> {
+                            try {
+                                return profileFileService.migrateLegacyFiles(profile);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })
+                        .orElse(false));
+                if (Boolean.TRUE.equals(moved)) {
+                    migrated++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to move the files of profile {}", profileId, ex);
+            }
+        }
+        log.info("Moved the files of {} profiles to the file store", migrated);
+    }
+
+}
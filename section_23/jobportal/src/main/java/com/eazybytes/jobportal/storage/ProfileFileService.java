@@ -0,0 +1,96 @@
+package com.eazybytes.jobportal.storage;
+
+import com.eazybytes.jobportal.dto.FileDownloadDto;
+import com.eazybytes.jobportal.entity.Profile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * Moves the profile picture and resume of a {@link Profile} in and out of the
+ * {@link FileStorageService}. The profile only keeps the content hash.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileFileService {
+
+    private final FileStorageService fileStorageService;
+
+    public void storeProfilePicture(Profile profile, MultipartFile profilePicture) {
+        StoredFile storedFile = store(profilePicture, "profile picture");
+        profile.setProfilePictureHash(storedFile.hash());
+        profile.setProfilePicture(null);
+        profile.setProfilePictureName(profilePicture.getOriginalFilename());
+        profile.setProfilePictureType(profilePicture.getContentType());
+    }
+
+    public void storeResume(Profile profile, MultipartFile resume) {
+        StoredFile storedFile = store(resume, "resume");
+        profile.setResumeHash(storedFile.hash());
+        profile.setResume(null);
+        profile.setResumeName(resume.getOriginalFilename());
+        profile.setResumeType(resume.getContentType());
+    }
+
+    public FileDownloadDto getProfilePicture(Profile profile) {
+        return download(profile.getProfilePictureHash(), profile::getProfilePicture,
+                profile.getProfilePictureName(), profile.getProfilePictureType());
+    }
+
+    public FileDownloadDto getResume(Profile profile) {
+        return download(profile.getResumeHash(), profile::getResume,
+                profile.getResumeName(), profile.getResumeType());
+    }
+
+    /**
+     * Move the BLOBs still stored in the profiles table to the file store
+     * @param profile a managed profile, the cleared columns are flushed on commit
+     * @return true if at least one file was moved
+     */
+    public boolean migrateLegacyFiles(Profile profile) throws IOException {
+        boolean migrated = false;
+        if (profile.getProfilePictureHash() == null && profile.getProfilePicture() != null) {
+            StoredFile storedFile = fileStorageService.store(new ByteArrayInputStream(profile.getProfilePicture()));
+            profile.setProfilePictureHash(storedFile.hash());
+            profile.setProfilePicture(null);
+            migrated = true;
+        }
+        if (profile.getResumeHash() == null && profile.getResume() != null) {
+            StoredFile storedFile = fileStorageService.store(new ByteArrayInputStream(profile.getResume()));
+            profile.setResumeHash(storedFile.hash());
+            profile.setResume(null);
+            migrated = true;
+        }
+        return migrated;
+    }
+
+    private StoredFile store(MultipartFile file, String label) {
+        try (InputStream content = file.getInputStream()) {
+            return fileStorageService.store(content);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to upload " + label, e);
+        }
+    }
+
+    private FileDownloadDto download(String hash, Supplier<byte[]> legacyContent, String fileName,
+            String contentType) {
+        if (hash != null) {
+            return fileStorageService.load(hash)
+                    .map(resource -> new FileDownloadDto(resource, fileName, contentType, hash))
+                    .orElse(null);
+        }
+        // Not migrated yet, the content is still in the profiles table
+        byte[] content = legacyContent.get();
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        return new FileDownloadDto(new ByteArrayResource(content), fileName, contentType, null);
+    }
+
+}
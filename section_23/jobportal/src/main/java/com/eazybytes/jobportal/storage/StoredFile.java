@@ -0,0 +1,8 @@
+package com.eazybytes.jobportal.storage;
+
+/**
+ * @param hash hex encoded SHA-256 of the content, also its storage key
+ * @param size content length in bytes
+ */
+public record StoredFile(String hash, long size) {
+}
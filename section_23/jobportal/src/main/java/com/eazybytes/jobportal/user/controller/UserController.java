@@ -5,15 +5,17 @@ import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.dto.ProfileDto;
 import com.eazybytes.jobportal.dto.UserDto;
+import com.eazybytes.jobportal.security.JobPortalPrincipal;
 import com.eazybytes.jobportal.user.service.IUserService;
+import com.eazybytes.jobportal.util.ApplicationUtility;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -67,92 +69,72 @@ public class UserController {
             @RequestPart(value = "profile") String profileJson,
             @RequestPart(value = "profilePicture", required = false) MultipartFile profilePicture,
             @RequestPart(value = "resume", required = false) MultipartFile resume,
-            Authentication authentication) throws JsonProcessingException {
-        String userEmail = authentication.getName();
+            @AuthenticationPrincipal JobPortalPrincipal principal) throws JsonProcessingException {
         ProfileDto savedProfile = userService.createOrUpdateProfile(
-                userEmail, profileJson, profilePicture, resume);
+                principal.userId(), profileJson, profilePicture, resume);
         return ResponseEntity.ok(savedProfile);
     }
 
     @GetMapping(value = "/profile/jobseeker", version = "1.0")
-    public ResponseEntity<ProfileDto> getProfile(Authentication authentication) {
-        String userEmail = authentication.getName();
-        ProfileDto profileDto = userService.getProfile(userEmail);
+    public ResponseEntity<ProfileDto> getProfile(@AuthenticationPrincipal JobPortalPrincipal principal) {
+        ProfileDto profileDto = userService.getProfile(principal.userId());
         return ResponseEntity.ok(profileDto);
     }
 
     @GetMapping(value = "/profile/picture/jobseeker", version = "1.0")
-    public ResponseEntity<byte[]> getProfilePicture(Authentication authentication) {
-        String userEmail = authentication.getName();
-        com.eazybytes.jobportal.dto.ProfileDto profileDto = userService.getProfilePicture(userEmail);
-        byte[] picture = profileDto.profilePicture();
-        if (picture == null || picture.length == 0) {
-            return ResponseEntity.notFound().build();
-        }
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(profileDto.profilePictureType()));
-        headers.setContentLength(picture.length);
-        return new ResponseEntity<>(picture, headers, HttpStatus.OK);
+    public ResponseEntity<Resource> getProfilePicture(@AuthenticationPrincipal JobPortalPrincipal principal) {
+        return ApplicationUtility.buildFileResponse(userService.getProfilePicture(principal.userId()), false);
     }
 
     @GetMapping(value = "/profile/resume/jobseeker", version = "1.0")
-    public ResponseEntity<byte[]> getResume(Authentication authentication) {
-        String userEmail = authentication.getName();
-        com.eazybytes.jobportal.dto.ProfileDto profileDto = userService.getResume(userEmail);
-        byte[] resume = profileDto.resume();
-        if (resume == null || resume.length == 0) {
-            return ResponseEntity.notFound().build();
-        }
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(profileDto.resumeType()));
-        headers.setContentLength(resume.length);
-        headers.setContentDispositionFormData("attachment", profileDto.resumeName());
-        return new ResponseEntity<>(resume, headers, HttpStatus.OK);
+    public ResponseEntity<Resource> getResume(@AuthenticationPrincipal JobPortalPrincipal principal) {
+        return ApplicationUtility.buildFileResponse(userService.getResume(principal.userId()), true);
     }
 
     @PostMapping(value = "/saved-jobs/{jobId}/jobseeker", version = "1.0")
     public ResponseEntity<JobDto> saveJob(@PathVariable Long jobId,
-            Authentication authentication) {
-        String userEmail = authentication.getName();
-        JobDto savedJob = userService.saveJob(userEmail, jobId);
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        JobDto savedJob = userService.saveJob(principal.userId(), jobId);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedJob);
     }
 
     @DeleteMapping(value = "/saved-jobs/{jobId}/jobseeker", version = "1.0")
     public ResponseEntity<String> unsaveJob(@PathVariable Long jobId,
-            Authentication authentication) {
-        String userEmail = authentication.getName();
-        userService.unsaveJob(userEmail, jobId);
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        userService.unsaveJob(principal.userId(), jobId);
         return ResponseEntity.status(HttpStatus.OK).body("Job unsaved successfully");
     }
 
+    @GetMapping(value = "/saved-jobs/ids/jobseeker", version = "1.0")
+    public ResponseEntity<long[]> getSavedJobIds(@AuthenticationPrincipal JobPortalPrincipal principal) {
+        return ResponseEntity.ok(userService.getSavedJobIds(principal.userId()));
+    }
+
     @GetMapping(value = "/saved-jobs/jobseeker", version = "1.0")
-    public ResponseEntity<List<JobDto>> getSavedJobs(Authentication authentication) {
-        String userEmail = authentication.getName();
-        List<JobDto> savedJobDtos = userService.getSavedJobs(userEmail);
+    public ResponseEntity<List<JobDto>> getSavedJobs(@AuthenticationPrincipal JobPortalPrincipal principal) {
+        List<JobDto> savedJobDtos = userService.getSavedJobs(principal.userId());
         return ResponseEntity.ok(savedJobDtos);
     }
 	
     @PostMapping(value = "/job-applications/jobseeker", version = "1.0")
     public ResponseEntity<JobApplicationDto> applyForJob(
-            @RequestBody @Valid ApplyJobRequestDto applyJobRequestDto, Authentication authentication) {
-        String userEmail = authentication.getName();
-        JobApplicationDto application = userService.applyForJob(userEmail, applyJobRequestDto);
+            @RequestBody @Valid ApplyJobRequestDto applyJobRequestDto,
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        JobApplicationDto application = userService.applyForJob(principal.userId(), applyJobRequestDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(application);
     }
 
     @DeleteMapping(value = "/job-applications/{jobId}/jobseeker", version = "1.0")
     public ResponseEntity<String> withdrawApplication(@PathVariable Long jobId,
-            Authentication authentication) {
-        String userEmail = authentication.getName();
-        userService.withdrawApplication(userEmail, jobId);
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        userService.withdrawApplication(principal.userId(), jobId);
         return ResponseEntity.status(HttpStatus.OK).body("Application withdrawn successfully");
     }
 
     @GetMapping(value = "/job-applications/jobseeker", version = "1.0")
-    public ResponseEntity<List<JobApplicationDto>> getJobSeekerApplications(Authentication authentication) {
-        String userEmail = authentication.getName();
-        List<JobApplicationDto> applications = userService.getJobSeekerApplications(userEmail);
+    public ResponseEntity<List<JobApplicationDto>> getJobSeekerApplications(
+            @AuthenticationPrincipal JobPortalPrincipal principal) {
+        List<JobApplicationDto> applications = userService.getJobSeekerApplications(principal.userId());
         return ResponseEntity.ok(applications);
     }
 }
@@ -1,6 +1,7 @@
 package com.eazybytes.jobportal.user.service;
 
 import com.eazybytes.jobportal.dto.ApplyJobRequestDto;
+import com.eazybytes.jobportal.dto.FileDownloadDto;
 import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.dto.ProfileDto;
@@ -36,24 +37,36 @@ public interface IUserService {
      */
     UserDto assignCompanyToEmployer(Long userId, Long companyId);
 
-    ProfileDto createOrUpdateProfile(String userEmail, String profileJson,
+    /*
+    The methods below act on the logged-in user, identified by the uid claim of the JWT
+     */
+
+    ProfileDto createOrUpdateProfile(Long userId, String profileJson,
             MultipartFile profilePicture, MultipartFile resume) throws JsonProcessingException;
 
-    ProfileDto getProfile(String userEmail);
+    ProfileDto getProfile(Long userId);
 
-    ProfileDto getProfilePicture(String userEmail);
+    FileDownloadDto getProfilePicture(Long userId);
 
-    ProfileDto getResume(String userEmail);
+    FileDownloadDto getResume(Long userId);
 	
-    JobDto saveJob(String userEmail, Long jobId);
+    JobDto saveJob(Long userId, Long jobId);
+
+    void unsaveJob(Long userId, Long jobId);
 
-    void unsaveJob(String userEmail, Long jobId);
+    List<JobDto> getSavedJobs(Long userId);
 
-    List<JobDto> getSavedJobs(String userEmail);
+    /**
+     * IDs of the jobs the user saved, answered from memory so a client can flag saved jobs
+     * in any catalog page without another query
+     * @param userId the ID of the job seeker
+     * @return the job IDs in ascending order
+     */
+    long[] getSavedJobIds(Long userId);
 
-    JobApplicationDto applyForJob(String userEmail, ApplyJobRequestDto request);
+    JobApplicationDto applyForJob(Long userId, ApplyJobRequestDto request);
 
-    void withdrawApplication(String userEmail, Long jobId);
+    void withdrawApplication(Long userId, Long jobId);
 
-    List<JobApplicationDto> getJobSeekerApplications(String userEmail);
+    List<JobApplicationDto> getJobSeekerApplications(Long userId);
 }
@@ -1,40 +1,50 @@
 package com.eazybytes.jobportal.user.service.impl;
 
+import com.eazybytes.jobportal.aspects.RecordLatency;
+import com.eazybytes.jobportal.cache.SavedJobIdsCache;
 import com.eazybytes.jobportal.constants.ApplicationConstants;
 import com.eazybytes.jobportal.dto.ApplyJobRequestDto;
+import com.eazybytes.jobportal.dto.FileDownloadDto;
 import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.dto.ProfileDto;
 import com.eazybytes.jobportal.dto.UserDto;
 import com.eazybytes.jobportal.entity.Company;
-import com.eazybytes.jobportal.entity.Job;
 import com.eazybytes.jobportal.entity.JobApplication;
 import com.eazybytes.jobportal.entity.JobPortalUser;
 import com.eazybytes.jobportal.entity.Profile;
 import com.eazybytes.jobportal.entity.Role;
+import com.eazybytes.jobportal.events.ApplicationCountChangedEvent;
+import com.eazybytes.jobportal.job.counter.ApplicationsCounter;
 import com.eazybytes.jobportal.repository.CompanyRepository;
 import com.eazybytes.jobportal.repository.JobApplicationRepository;
 import com.eazybytes.jobportal.repository.JobPortalUserRepository;
 import com.eazybytes.jobportal.repository.JobRepository;
 import com.eazybytes.jobportal.repository.ProfileRepository;
 import com.eazybytes.jobportal.repository.RoleRepository;
+import com.eazybytes.jobportal.repository.SavedJobRepository;
+import com.eazybytes.jobportal.search.index.JobSearchIndex;
+import com.eazybytes.jobportal.storage.ProfileFileService;
 import com.eazybytes.jobportal.user.service.IUserService;
 import com.eazybytes.jobportal.util.ApplicationUtility;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@RecordLatency
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements IUserService {
@@ -45,6 +55,12 @@ public class UserServiceImpl implements IUserService {
     private final ProfileRepository profileRepository;
     private final JobRepository jobRepository;
     private final JobApplicationRepository jobApplicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProfileFileService profileFileService;
+    private final ApplicationsCounter applicationsCounter;
+    private final JobSearchIndex jobSearchIndex;
+    private final SavedJobRepository savedJobRepository;
+    private final SavedJobIdsCache savedJobIdsCache;
 
     @Override
     public Optional<UserDto> searchUserByEmail(String email) {
@@ -99,142 +115,117 @@ public class UserServiceImpl implements IUserService {
 
     @Transactional
     @Override
-    public ProfileDto createOrUpdateProfile(String userEmail, String profileJson,
+    public ProfileDto createOrUpdateProfile(Long userId, String profileJson,
             MultipartFile profilePicture, MultipartFile resume) throws JsonProcessingException {
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        Profile profile = user.getProfile();
+        Profile profile = profileRepository.findByUserId(userId).orElse(null);
         if (null == profile) {
             profile = new Profile();
-            profile.setUser(user);
+            profile.setUser(userRepository.getReferenceById(userId));
         }
         ObjectMapper objectMapper = new ObjectMapper();
         // Parse JSON string to ProfileDto
         ProfileDto profileDto = objectMapper.readValue(profileJson, ProfileDto.class);
         Profile savedProfile = profileRepository.save(mapToProfile(profile, profileDto, profilePicture, resume));
-        return mapToProfileDto(savedProfile, false);
+        return mapToProfileDto(savedProfile);
     }
 
     @Override
-    public ProfileDto getProfile(String userEmail) {
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        if (user.getProfile() == null) {
-            return null;
-        }
-        return mapToProfileDto(user.getProfile(), false);
+    public ProfileDto getProfile(Long userId) {
+        return profileRepository.findByUserId(userId).map(this::mapToProfileDto).orElse(null);
     }
 
     @Override
-    public ProfileDto getProfilePicture(String userEmail) {
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        if (user.getProfile() == null) {
-            return null;
-        }
-        return mapToProfileDto(user.getProfile(), true);
+    public FileDownloadDto getProfilePicture(Long userId) {
+        return profileRepository.findByUserId(userId).map(profileFileService::getProfilePicture).orElse(null);
     }
 
     @Override
-    public ProfileDto getResume(String userEmail) {
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        if (user.getProfile() == null) {
-            return null;
-        }
-        return mapToProfileDto(user.getProfile(), true);
+    public FileDownloadDto getResume(Long userId) {
+        return profileRepository.findByUserId(userId).map(profileFileService::getResume).orElse(null);
     }
 
     @Transactional
     @Override
-    public JobDto saveJob(String userEmail, Long jobId) {
-        // Validate if user exists
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        // Validate job exists
-        Job job = jobRepository.findById(jobId)
+    public JobDto saveJob(Long userId, Long jobId) {
+        // Validate job exists, ACTIVE jobs are served from the search index
+        JobDto job = jobSearchIndex.find(jobId).or(() -> jobRepository.findById(jobId)
+                        .map(entity -> applicationsCounter.merge(ApplicationUtility.transformJobToDto(entity))))
                 .orElseThrow(() -> new RuntimeException("Job not found with ID: " + jobId));
-        user.getSavedJobs().add(job);
-        // userRepository.save(user);
-        return ApplicationUtility.transformJobToDto(job);
+        // One join table row, the saved jobs collection of the user is not loaded
+        savedJobRepository.insertIgnore(userId, jobId);
+        savedJobIdsCache.saved(userId, jobId);
+        return job;
     }
 
     @Transactional
     @Override
-    public void unsaveJob(String userEmail, Long jobId) {
-        // Validate if user exists
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        // Validate job exists
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found with ID: " + jobId));
-        user.getSavedJobs().remove(job);
+    public void unsaveJob(Long userId, Long jobId) {
+        savedJobRepository.delete(userId, jobId);
+        savedJobIdsCache.unsaved(userId, jobId);
     }
 
     @Override
-    public List<JobDto> getSavedJobs(String userEmail) {
-        // Validate if user exists
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        return user.getSavedJobs().stream().map(job -> ApplicationUtility.transformJobToDto(job))
+    public List<JobDto> getSavedJobs(Long userId) {
+        return savedJobRepository.findSavedJobDtosByUserId(userId).stream()
+                .map(applicationsCounter::merge)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public long[] getSavedJobIds(Long userId) {
+        return savedJobIdsCache.get(userId);
+    }
+
     @Transactional
     @Override
-    public JobApplicationDto applyForJob(String userEmail, ApplyJobRequestDto applyJobRequestDto) {
-        // Validate if user exists
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
+    public JobApplicationDto applyForJob(Long userId, ApplyJobRequestDto applyJobRequestDto) {
         Long jobId = applyJobRequestDto.jobId();
-        if (jobApplicationRepository.existsByUserIdAndJobId(user.getId(), jobId)) {
-            throw new RuntimeException("You have already applied for this job");
-        }
-        // Validate job exists
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found with ID: " + jobId));
-        // Create job application
+        // The INSERT is the only statement, the user and the job are not loaded.
+        // unique_user_job_application rejects a second application, the job_id foreign key a missing job.
         JobApplication application = new JobApplication();
-        application.setUser(user);
-        application.setJob(job);
+        application.setUser(userRepository.getReferenceById(userId));
+        application.setJob(jobRepository.getReferenceById(jobId));
         application.setAppliedAt(Instant.now());
         application.setStatus(ApplicationConstants.PENDING);
         application.setCoverLetter(applyJobRequestDto.coverLetter());
-        JobApplication saved = jobApplicationRepository.save(application);
-        // Increment applications count
-        job.setApplicationsCount(job.getApplicationsCount() != null ? job.getApplicationsCount() + 1 : 1);
-        // jobRepository.save(job); - Optional
-        return ApplicationUtility.mapToJobApplicationDto(saved);
+        JobApplication saved;
+        try {
+            saved = jobApplicationRepository.saveAndFlush(application);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException violation) {
+                switch (violation.getKind()) {
+                    case UNIQUE -> throw new RuntimeException("You have already applied for this job");
+                    case FOREIGN_KEY -> throw new RuntimeException("Job not found with ID: " + jobId);
+                    default -> { }
+                }
+            }
+            throw ex;
+        }
+        // Counted after commit, the job row is not written here
+        applicationsCounter.add(jobId, 1);
+        eventPublisher.publishEvent(new ApplicationCountChangedEvent(jobId, 1));
+        // Served from the search index, only jobs that are not ACTIVE are loaded
+        JobDto job = jobSearchIndex.find(jobId).orElseGet(() ->
+                applicationsCounter.merge(ApplicationUtility.transformJobToDto(saved.getJob())));
+        return ApplicationUtility.mapToSubmittedApplicationDto(saved, job);
     }
 
     @Transactional
     @Override
-    public void withdrawApplication(String userEmail, Long jobId) {
-        // Validate if user exists
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        if (!jobApplicationRepository.existsByUserIdAndJobId(user.getId(), jobId)) {
+    public void withdrawApplication(Long userId, Long jobId) {
+        // The affected row count tells whether there was an application to withdraw
+        if (jobApplicationRepository.deleteByUserIdAndJobId(userId, jobId) == 0) {
             throw new RuntimeException("You have not applied for this job");
         }
-        jobApplicationRepository.deleteByUserIdAndJobId(user.getId(), jobId);
-        // Get the job to update the count
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found with ID: " + jobId));
-
-        // Decrement applications count (ensure it doesn't go below 0)
-        if (job.getApplicationsCount() != null && job.getApplicationsCount() > 0) {
-            job.setApplicationsCount(job.getApplicationsCount() - 1);
-            // jobRepository.save(job); - Optional
-        }
+        // The counter never goes below 0
+        applicationsCounter.add(jobId, -1);
+        eventPublisher.publishEvent(new ApplicationCountChangedEvent(jobId, -1));
     }
 
     @Override
-    public List<JobApplicationDto> getJobSeekerApplications(String userEmail) {
-        // Validate if user exists
-        JobPortalUser user = userRepository.findJobPortalUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + userEmail));
-        return user.getJobApplications().stream().map(jobApp ->
-                        ApplicationUtility.mapToJobApplicationDto(jobApp))
+    public List<JobApplicationDto> getJobSeekerApplications(Long userId) {
+        return jobApplicationRepository.findApplicationRowsByUserId(userId).stream()
+                .map(row -> row.toDto(applicationsCounter.merge(row.job())))
                 .collect(Collectors.toList());
     }
 
@@ -248,44 +239,22 @@ public class UserServiceImpl implements IUserService {
         profile.setPortfolioWebsite(profileDto.portfolioWebsite());
         // Handle profile picture upload
         if (profilePicture != null && !profilePicture.isEmpty()) {
-            try {
-                profile.setProfilePicture(profilePicture.getBytes());
-                profile.setProfilePictureName(profilePicture.getOriginalFilename());
-                profile.setProfilePictureType(profilePicture.getContentType());
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to upload profile picture", e);
-            }
+            profileFileService.storeProfilePicture(profile, profilePicture);
         }
         // Handle resume upload
         if (resume != null && !resume.isEmpty()) {
-            try {
-                profile.setResume(resume.getBytes());
-                profile.setResumeName(resume.getOriginalFilename());
-                profile.setResumeType(resume.getContentType());
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to upload resume", e);
-            }
+            profileFileService.storeResume(profile, resume);
         }
         return profile;
     }
 
-    private ProfileDto mapToProfileDto(Profile profile, boolean includeBinaryData) {
-        ProfileDto dto;
-        if (includeBinaryData) {
-            dto = new ProfileDto(profile.getId(), profile.getUser().getId(),
-                    profile.getJobTitle(), profile.getLocation(), profile.getExperienceLevel(),
-                    profile.getProfessionalBio(), profile.getPortfolioWebsite(), profile.getProfilePicture(),
-                    profile.getProfilePictureName(), profile.getProfilePictureType(), profile.getResume(),
-                    profile.getResumeName(), profile.getResumeType(), profile.getCreatedAt(), profile.getUpdatedAt()
-            );
-        } else {
-            dto = new ProfileDto(profile.getId(), profile.getUser().getId(),
-                    profile.getJobTitle(), profile.getLocation(), profile.getExperienceLevel(),
-                    profile.getProfessionalBio(), profile.getPortfolioWebsite(), null,
-                    profile.getProfilePictureName(), profile.getProfilePictureType(), null,
-                    profile.getResumeName(), profile.getResumeType(), profile.getCreatedAt(), profile.getUpdatedAt());
-        }
-        return dto;
+    // The files are served by the download endpoints, never inline in the profile JSON
+    private ProfileDto mapToProfileDto(Profile profile) {
+        return new ProfileDto(profile.getId(), profile.getUser().getId(),
+                profile.getJobTitle(), profile.getLocation(), profile.getExperienceLevel(),
+                profile.getProfessionalBio(), profile.getPortfolioWebsite(), null,
+                profile.getProfilePictureName(), profile.getProfilePictureType(), null,
+                profile.getResumeName(), profile.getResumeType(), profile.getCreatedAt(), profile.getUpdatedAt());
     }
 
     private UserDto mapToUserDto(JobPortalUser user) {
@@ -1,16 +1,29 @@
 package com.eazybytes.jobportal.util;
 
 import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.CompanyDto;
+import com.eazybytes.jobportal.dto.FileDownloadDto;
 import com.eazybytes.jobportal.dto.JobApplicationDto;
 import com.eazybytes.jobportal.dto.JobDto;
 import com.eazybytes.jobportal.dto.ProfileDto;
+import com.eazybytes.jobportal.entity.Company;
 import com.eazybytes.jobportal.entity.Job;
 import com.eazybytes.jobportal.entity.JobApplication;
 import com.eazybytes.jobportal.entity.JobPortalUser;
 import com.eazybytes.jobportal.entity.Profile;
+import com.eazybytes.jobportal.security.JobPortalPrincipal;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 public class ApplicationUtility {
 
     public static String getLoggedInUser() {
@@ -22,7 +35,9 @@ public class ApplicationUtility {
         }
         Object principal = authentication.getPrincipal();
         String username;
-        if (principal instanceof JobPortalUser jobPortalUser) {
+        if (principal instanceof JobPortalPrincipal jobPortalPrincipal) {
+            username = jobPortalPrincipal.email();
+        } else if (principal instanceof JobPortalUser jobPortalUser) {
             username = jobPortalUser.getEmail();
         } else {
             username = principal.toString(); // fallback
@@ -30,6 +45,44 @@ public class ApplicationUtility {
         return username;
     }
 
+    /**
+     * Build a streaming response for a stored file. The body is written straight from the
+     * {@link Resource}, Spring MVC answers Range requests with 206 and If-None-Match with 304.
+     * @param file the file to send, null for 404
+     * @param attachment whether the browser should download rather than display the file
+     */
+    public static ResponseEntity<Resource> buildFileResponse(FileDownloadDto file, boolean attachment) {
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(file.contentType() != null ? MediaType.parseMediaType(file.contentType())
+                        : MediaType.APPLICATION_OCTET_STREAM)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (file.hash() != null) {
+            builder.eTag(file.hash());
+        }
+        if (attachment && file.fileName() != null) {
+            builder.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(file.fileName(), StandardCharsets.UTF_8).build().toString());
+        }
+        return builder.body(file.resource());
+    }
+
+    /**
+     * Map a company and its loaded jobs. The returned lists are unmodifiable so the
+     * DTO can be shared through the caches.
+     */
+    public static CompanyDto transformCompanyToDto(Company company) {
+        List<JobDto> jobDtos = company.getJobs().stream()
+                .map(ApplicationUtility::transformJobToDto)
+                .toList();
+        return new CompanyDto(company.getId(), company.getName(), company.getLogo(),
+                company.getIndustry(), company.getSize(), company.getRating(),
+                company.getLocations(), company.getFounded(), company.getDescription(),
+                company.getEmployees(), company.getWebsite(), company.getCreatedAt(), jobDtos);
+    }
+
     public static JobDto transformJobToDto(Job job) {
         return new JobDto(
                 job.getId(),
@@ -59,6 +112,30 @@ public class ApplicationUtility {
         );
     }
 
+    /**
+     * Map an application right after it was inserted. The user and job are still unloaded
+     * references, only their IDs are read, the job is taken from the caller.
+     */
+    public static JobApplicationDto mapToSubmittedApplicationDto(JobApplication application, JobDto job) {
+        return new JobApplicationDto(
+                application.getId(),
+                application.getUser().getId(),
+                null,
+                null,
+                null,
+                null,
+                job,
+                application.getAppliedAt(),
+                application.getStatus(),
+                application.getCoverLetter(),
+                application.getNotes()
+        );
+    }
+
+    /**
+     * Map an application for listing. The profile picture and resume are never copied,
+     * they are downloaded one applicant at a time.
+     */
     public static JobApplicationDto mapToJobApplicationDto(JobApplication application) {
         // Map profile if exists
         ProfileDto profileDto = null;
@@ -72,10 +149,10 @@ public class ApplicationUtility {
                     profile.getExperienceLevel(),
                     profile.getProfessionalBio(),
                     profile.getPortfolioWebsite(),
-                    profile.getProfilePicture(),
+                    null,
                     profile.getProfilePictureName(),
                     profile.getProfilePictureType(),
-                    profile.getResume(),
+                    null,
                     profile.getResumeName(),
                     profile.getResumeType(),
                     profile.getCreatedAt(),
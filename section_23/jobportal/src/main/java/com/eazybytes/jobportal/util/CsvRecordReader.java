@@ -0,0 +1,126 @@
+package com.eazybytes.jobportal.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads RFC 4180 CSV one record at a time. Fields may be quoted, a quoted field can hold commas,
+ * line breaks and doubled quotes. Records end with LF or CRLF, blank lines are skipped.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int lineNumber = 1;
+    private boolean endOfInput;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * @return the fields of the next record, null once the input is exhausted
+     */
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field on line " + lineNumber);
+                }
+                endOfInput = true;
+                if (!fieldStarted && fields.isEmpty()) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    fieldStarted = true;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    fieldStarted = true;
+                }
+                case '\r' -> { }
+                case '\n' -> {
+                    lineNumber++;
+                    if (!fieldStarted && fields.isEmpty()) {
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    field.append((char) c);
+                    fieldStarted = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * The remaining records as a lazy stream, read as the stream is consumed
+     */
+    public Stream<List<String>> records() {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<List<String>>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super List<String>> action) {
+                if (endOfInput) {
+                    return false;
+                }
+                try {
+                    List<String> fields = readRecord();
+                    if (fields == null) {
+                        return false;
+                    }
+                    action.accept(fields);
+                    return true;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }, false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.eazybytes.jobportal.util;
+
+import com.eazybytes.jobportal.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes the (timestamp, id) keyset of the last row of a window into an opaque cursor and
+ * back. Clients must treat the cursor as a black box, the format can change at any time.
+ */
+public class ScrollCursorUtility {
+
+    private static final String SEPARATOR = "|";
+
+    private ScrollCursorUtility() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static String encode(Instant timestamp, Long id) {
+        String keyset = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into a forward keyset position
+     * @param cursor            the cursor returned with the previous window, blank for the first window
+     * @param timestampProperty the entity property the timestamp part belongs to
+     * @return the position to continue from
+     * @throws InvalidCursorException if the cursor was not produced by {@link #encode}
+     */
+    public static KeysetScrollPosition decode(String cursor, String timestampProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = keyset.lastIndexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(timestampProperty, Instant.parse(keyset.substring(0, separatorIndex)));
+            keys.put("id", Long.valueOf(keyset.substring(separatorIndex + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException(ex);
+        }
+    }
+
+}
@@ -9068,4 +9068,10 @@ INSERT INTO roles (name, created_at, created_by)
 VALUES ('ROLE_EMPLOYER', CURRENT_TIMESTAMP, 'DBA');
 
 INSERT INTO roles (name, created_at, created_by)
-VALUES ('ROLE_ADMIN', CURRENT_TIMESTAMP, 'DBA');
\ No newline at end of file
+VALUES ('ROLE_ADMIN', CURRENT_TIMESTAMP, 'DBA');
+-- Continue the pooled identifiers after the rows inserted above
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'companies', COALESCE(MAX(id), 0) + 1 FROM companies;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'jobs', COALESCE(MAX(id), 0) + 1 FROM jobs;
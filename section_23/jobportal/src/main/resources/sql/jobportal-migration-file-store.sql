@@ -0,0 +1,4 @@
+-- Content hashes of the files moved out of the profiles table into the file store.
+-- Run once on existing databases, then start the application with STORAGE_MIGRATION_ENABLED=true
+ALTER TABLE profiles ADD COLUMN profile_picture_hash VARCHAR(64) AFTER profile_picture;
+ALTER TABLE profiles ADD COLUMN resume_hash VARCHAR(64) AFTER resume;
@@ -0,0 +1,14 @@
+-- Jobs and companies take their ids from id_generators instead of AUTO_INCREMENT, so bulk imports
+-- can send their INSERTs in JDBC batches. Run once on existing databases before starting the application.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val      BIGINT      NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'companies', COALESCE(MAX(id), 0) + 1 FROM companies
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'jobs', COALESCE(MAX(id), 0) + 1 FROM jobs
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -100,9 +100,11 @@ CREATE TABLE IF NOT EXISTS profiles (
     professional_bio TEXT NOT NULL,
     portfolio_website VARCHAR(500),
     profile_picture MEDIUMBLOB,
+    profile_picture_hash VARCHAR(64),
     profile_picture_name VARCHAR(255),
     profile_picture_type VARCHAR(100),
     resume MEDIUMBLOB,
+    resume_hash VARCHAR(64),
     resume_name VARCHAR(255),
     resume_type VARCHAR(100),
     created_at TIMESTAMP   DEFAULT CURRENT_TIMESTAMP NOT NULL,
@@ -135,4 +137,10 @@ CREATE TABLE IF NOT EXISTS job_applications (
             FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
             FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
             UNIQUE KEY unique_user_job_application (user_id, job_id) -- Prevent duplicate applications
-);
\ No newline at end of file
+);
+-- Pooled identifiers of jobs and companies, each row hands out next_val onwards in blocks of 50.
+-- Rows inserted without going through the application must bump next_val past their id.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val      BIGINT      NOT NULL
+);
@@ -0,0 +1,207 @@
+package com.eazybytes.jobportal;
+
+import com.eazybytes.jobportal.company.service.ICompanyService;
+import com.eazybytes.jobportal.dto.JobDto;
+import com.eazybytes.jobportal.job.service.IJobService;
+import com.eazybytes.jobportal.metrics.query.QueryScope;
+import com.eazybytes.jobportal.metrics.query.QueryStatsRecorder;
+import com.eazybytes.jobportal.repository.JobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the bulk job and company imports against the compose MySQL. The imports commit for
+ * real, a rollback inside a test transaction would not show, so the rows of every run are
+ * deleted afterwards.
+ */
+@SpringBootTest
+class BulkImportIntegrationTest {
+
+    private static final int COMPANIES = 100;
+    private static final int JOBS = 2_000;
+    private static final TypeReference<Map<String, Object>> RECORD = new TypeReference<>() {
+    };
+
+    @Autowired
+    private ICompanyService companyService;
+
+    @Autowired
+    private IJobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private QueryStatsRecorder queryStatsRecorder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${bulk-import.chunk-size}")
+    private int chunkSize;
+
+    private String namePrefix;
+    private JobDto template;
+
+    @BeforeEach
+    void setUp() {
+        namePrefix = "Bulk " + UUID.randomUUID().toString().substring(0, 8) + " ";
+        Long templateCompanyId = jobRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst()
+                .getCompany().getId();
+        // Without its id, createJob would overwrite the template job
+        Map<String, Object> job = jsonMapper.convertValue(
+                jobRepository.findJobDtosByCompanyId(templateCompanyId).getFirst(), RECORD);
+        job.remove("id");
+        template = jsonMapper.convertValue(job, JobDto.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            entityManager.createQuery("DELETE FROM Job j WHERE j.company.id IN "
+                    + "(SELECT c.id FROM Company c WHERE c.name LIKE :prefix)")
+                    .setParameter("prefix", namePrefix + "%").executeUpdate();
+            entityManager.createQuery("DELETE FROM Company c WHERE c.name LIKE :prefix")
+                    .setParameter("prefix", namePrefix + "%").executeUpdate();
+        });
+    }
+
+    @Test
+    void importsEveryRecordWithPooledIdsInBatches() {
+        // With the byte order mark Excel writes in front of UTF-8 CSV
+        assertEquals(COMPANIES, companyService.importCompanies(companiesCsv(COMPANIES, "\uFEFF", -1)));
+        assertEquals(COMPANIES, companyIds().size());
+
+        Long companyId = companyIds().getFirst();
+        long nextIdBefore = nextJobId();
+        long insertStatements;
+        try (QueryScope scope = queryStatsRecorder.open("import")) {
+            assertEquals(JOBS, jobService.createJobs(jobsJson(JOBS, -1), companyId));
+            insertStatements = scope.shapes().entrySet().stream()
+                    .filter(shape -> shape.getKey().toLowerCase(Locale.ROOT).startsWith("insert into jobs"))
+                    .mapToLong(Map.Entry::getValue).sum();
+        }
+        List<Long> jobIds = jobIds(companyId);
+        assertEquals(JOBS, jobIds.size());
+        // The ids come from id_generators, reserved 50 at a time
+        long reserved = nextJobId() - nextIdBefore;
+        assertTrue(reserved >= JOBS - 50 && reserved <= JOBS + 50, "Reserved " + reserved + " ids");
+        assertEquals(JOBS, new HashSet<>(jobIds).size());
+        // One prepared INSERT per JDBC batch, not one per job
+        assertTrue(insertStatements <= Math.ceilDiv(JOBS, chunkSize),
+                insertStatements + " INSERT statements for " + JOBS + " jobs");
+    }
+
+    @Test
+    void oneInvalidRecordRollsBackTheWholeImport() {
+        // The invalid records come after the first chunk has been written
+        int invalidRecord = chunkSize + 1;
+        RuntimeException companyError = assertThrows(RuntimeException.class,
+                () -> companyService.importCompanies(companiesCsv(chunkSize * 2, "", invalidRecord)));
+        assertTrue(companyError.getMessage().startsWith("Company " + invalidRecord + ":"), companyError.getMessage());
+        assertEquals(0, companyIds().size());
+
+        companyService.importCompanies(companiesCsv(1, "", -1));
+        Long companyId = companyIds().getFirst();
+        RuntimeException jobError = assertThrows(RuntimeException.class,
+                () -> jobService.createJobs(jobsJson(chunkSize * 2, invalidRecord), companyId));
+        assertTrue(jobError.getMessage().startsWith("Job " + invalidRecord + ":"), jobError.getMessage());
+        assertEquals(0, jobIds(companyId).size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "load-tests", matches = "true")
+    void bulkImportIsAnOrderOfMagnitudeFasterThanCreateJob() {
+        companyService.importCompanies(companiesCsv(1, "", -1));
+        Long companyId = companyIds().getFirst();
+        // Warm up both paths first
+        jobService.createJobs(jobsJson(200, -1), companyId);
+        for (int i = 0; i < 200; i++) {
+            jobService.createJob(template, companyId);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < JOBS; i++) {
+            jobService.createJob(template, companyId);
+        }
+        double createJobSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        InputStream jobsJson = jobsJson(JOBS, -1);
+        start = System.nanoTime();
+        jobService.createJobs(jobsJson, companyId);
+        double bulkSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertTrue(createJobSeconds >= 10 * bulkSeconds, String.format(
+                "createJobs %.0f jobs/s, createJob %.0f jobs/s", JOBS / bulkSeconds, JOBS / createJobSeconds));
+    }
+
+    private InputStream companiesCsv(int count, String byteOrderMark, int invalidRecord) {
+        StringBuilder csv = new StringBuilder(byteOrderMark)
+                .append("name,logo,industry,size,rating,locations,founded,description,employees,website\n");
+        for (int i = 1; i <= count; i++) {
+            String rating = i == invalidRecord ? "9" : "4.5";
+            csv.append(namePrefix).append(i).append(",/logos/bulk.png,Software,51-200,").append(rating)
+                    .append(",\"Paris, Lyon\",2010,Imported by a test,120,https://example.com\n");
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InputStream jobsJson(int count, int invalidRecord) {
+        Map<String, Object> job = jsonMapper.convertValue(template, RECORD);
+        List<Map<String, Object>> jobs = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> record = new HashMap<>(job);
+            if (i == invalidRecord) {
+                record.put("title", "");
+            }
+            jobs.add(record);
+        }
+        return new ByteArrayInputStream(jsonMapper.writeValueAsBytes(jobs));
+    }
+
+    private List<Long> companyIds() {
+        return entityManager.createQuery("SELECT c.id FROM Company c WHERE c.name LIKE :prefix ORDER BY c.id",
+                Long.class).setParameter("prefix", namePrefix + "%").getResultList();
+    }
+
+    private List<Long> jobIds(Long companyId) {
+        return entityManager.createQuery("SELECT j.id FROM Job j WHERE j.company.id = :companyId", Long.class)
+                .setParameter("companyId", companyId).getResultList();
+    }
+
+    private long nextJobId() {
+        return ((Number) entityManager.createNativeQuery(
+                "SELECT next_val FROM id_generators WHERE sequence_name = 'jobs'").getSingleResult()).longValue();
+    }
+
+}
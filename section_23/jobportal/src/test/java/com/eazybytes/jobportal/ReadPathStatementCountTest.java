@@ -0,0 +1,147 @@
+package com.eazybytes.jobportal;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.entity.Company;
+import com.eazybytes.jobportal.entity.Job;
+import com.eazybytes.jobportal.entity.JobApplication;
+import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.job.service.IJobService;
+import com.eazybytes.jobportal.metrics.query.MaxQueries;
+import com.eazybytes.jobportal.metrics.query.QueryScope;
+import com.eazybytes.jobportal.metrics.query.QueryStatsRecorder;
+import com.eazybytes.jobportal.repository.JobApplicationRepository;
+import com.eazybytes.jobportal.repository.JobPortalUserRepository;
+import com.eazybytes.jobportal.repository.JobRepository;
+import com.eazybytes.jobportal.repository.RoleRepository;
+import com.eazybytes.jobportal.user.service.IUserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Pins the projection based read paths to one statement, whatever the number of rows. Each
+ * read path runs with 1 row and again with {@link #ROWS} more, a statement per row would show
+ * as a difference between the two.
+ */
+@SpringBootTest
+@Transactional
+class ReadPathStatementCountTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private IJobService jobService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobPortalUserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private QueryStatsRecorder queryStatsRecorder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Job template;
+    private Company company;
+    private JobPortalUser jobSeeker;
+
+    @BeforeEach
+    void setUp() {
+        template = jobRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+        company = template.getCompany();
+        jobSeeker = new JobPortalUser();
+        jobSeeker.setName("Statement Count");
+        jobSeeker.setEmail("statement.count@example.com");
+        jobSeeker.setPasswordHash("{noop}unused");
+        jobSeeker.setRole(roleRepository.findRoleByName(ApplicationConstants.ROLE_JOB_SEEKER).orElseThrow());
+        userRepository.save(jobSeeker);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @MaxQueries(1)
+    void employerJobsStayWithinTheirBudget() {
+        assertFalse(jobService.getEmployerJobs(company.getId()).isEmpty());
+    }
+
+    @Test
+    void employerJobsTakeOneStatement() {
+        // The company of the template already has jobs, only the added ones are counted
+        int existing = readInOneStatement(() -> jobService.getEmployerJobs(company.getId())).size();
+        addJobs(1);
+        assertEquals(existing + 1, readInOneStatement(() -> jobService.getEmployerJobs(company.getId())).size());
+        addJobs(ROWS);
+        assertEquals(existing + 1 + ROWS,
+                readInOneStatement(() -> jobService.getEmployerJobs(company.getId())).size());
+    }
+
+    @Test
+    void jobSeekerApplicationsTakeOneStatement() {
+        applyTo(1);
+        assertEquals(1, readInOneStatement(() -> userService.getJobSeekerApplications(jobSeeker.getId())).size());
+        applyTo(ROWS);
+        assertEquals(1 + ROWS,
+                readInOneStatement(() -> userService.getJobSeekerApplications(jobSeeker.getId())).size());
+    }
+
+    // Read on an empty persistence context, so nothing is answered from it
+    private <T> List<T> readInOneStatement(Supplier<List<T>> read) {
+        entityManager.flush();
+        entityManager.clear();
+        try (QueryScope scope = queryStatsRecorder.open("read")) {
+            List<T> result = read.get();
+            assertEquals(1, scope.count(), () -> "Statements run: " + scope.shapes());
+            return result;
+        }
+    }
+
+    private Job addJob() {
+        Job job = new Job();
+        BeanUtils.copyProperties(template, job, "id", "savedByUsers", "jobApplications");
+        job.setCompany(company);
+        return jobRepository.save(job);
+    }
+
+    private void addJobs(int count) {
+        for (int i = 0; i < count; i++) {
+            addJob();
+        }
+    }
+
+    private void applyTo(int count) {
+        for (int i = 0; i < count; i++) {
+            JobApplication application = new JobApplication();
+            application.setUser(jobSeeker);
+            application.setJob(addJob());
+            application.setAppliedAt(Instant.now());
+            application.setStatus(ApplicationConstants.PENDING);
+            jobApplicationRepository.save(application);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.eazybytes.jobportal.aspects;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the {@link LatencyRecordingAspect} advice, against the same bean called
+ * without a proxy and through the previous catch-all advice, which formatted the arguments
+ * and wrote four log lines per call (measured with a no-op sink so only the formatting counts).
+ * Four threads record into the same method to include contention on the counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LatencyRecordingAspectBenchmark {
+
+    @RecordLatency
+    public static class SampleService {
+
+        public long lookup(long id, String name) {
+            return id * 31 + name.length();
+        }
+    }
+
+    // The advice of the former LoggingAndPerformanceAspect, minus the logger
+    @Aspect
+    public static class FormattingAspect {
+
+        @Around("execution(public * *(..)) && @within(com.eazybytes.jobportal.aspects.RecordLatency)")
+        public Object logAndMeasureExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+            long startTime = System.currentTimeMillis();
+            String methodName = joinPoint.getSignature().toShortString();
+            String arguments = Arrays.toString(joinPoint.getArgs());
+            Object result = joinPoint.proceed();
+            long executionTime = System.currentTimeMillis() - startTime;
+            sink = methodName.length() + arguments.length() + executionTime;
+            return result;
+        }
+    }
+
+    private static volatile long sink;
+
+    private SampleService direct;
+    private SampleService recorded;
+    private SampleService formatted;
+
+    @Setup
+    public void setUp() {
+        direct = new SampleService();
+        recorded = proxy(new LatencyRecordingAspect(new SimpleMeterRegistry(), 60, 500, 10));
+        formatted = proxy(new FormattingAspect());
+    }
+
+    private static SampleService proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public long noAdvice() {
+        return direct.lookup(42L, "software engineer");
+    }
+
+    @Benchmark
+    public long latencyRecordingAdvice() {
+        return recorded.lookup(42L, "software engineer");
+    }
+
+    @Benchmark
+    public long formattingAdvice() {
+        return formatted.lookup(42L, "software engineer");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LatencyRecordingAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.eazybytes.jobportal.cache.shared;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Two managers sharing one {@link InProcessSharedCacheTier} stand for two replicas. Time is a
+ * fake ticker shared by every cache, refreshes run on the calling thread.
+ */
+class TwoTierCacheManagerTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration REFRESH_AFTER = Duration.ofMinutes(1);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final InProcessSharedCacheTier sharedTier = new InProcessSharedCacheTier(100, nanos::get);
+
+    @Test
+    void sharedEntryExpiresWithTheLocalTtl() {
+        Cache nodeA = twoTierCache("a", null);
+        Cache nodeB = twoTierCache("b", null);
+        nodeA.get("key", () -> "loaded by a");
+        // A cold replica fills its local cache from the shared tier
+        assertEquals("loaded by a", nodeB.get("key", String.class));
+
+        advance(TTL.plusSeconds(1));
+        assertNull(nodeA.get("key"));
+        assertNull(sharedTier.get("jobs", "key"));
+        assertEquals("loaded by b", nodeB.get("key", () -> "loaded by b"));
+    }
+
+    @Test
+    void backgroundRefreshReachesTheOtherNodes() {
+        AtomicReference<String> database = new AtomicReference<>("v1");
+        AtomicInteger nodeBLoads = new AtomicInteger();
+        Cache nodeA = twoTierCache("a", _ -> database.get());
+        Cache nodeB = twoTierCache("b", _ -> {
+            nodeBLoads.incrementAndGet();
+            return database.get();
+        });
+        assertEquals("v1", nodeA.get("key", String.class));
+        // nodeB holds its own local copy, filled from the shared tier
+        assertEquals("v1", nodeB.get("key", String.class));
+        assertEquals(0, nodeBLoads.get());
+
+        database.set("v2");
+        advance(REFRESH_AFTER.plusSeconds(1));
+        // The stale value is served while the refresh runs, the refresh updates both tiers
+        assertEquals("v1", nodeA.get("key", String.class));
+        assertEquals("v2", nodeA.get("key", String.class));
+        assertEquals("v2", sharedTier.get("jobs", "key"));
+
+        // The refresh dropped the local copy of nodeB, which fills it again from the shared tier
+        assertEquals("v2", nodeB.get("key", String.class));
+        assertEquals(0, nodeBLoads.get());
+    }
+
+    private Cache twoTierCache(String nodeId, CacheLoader<Object, Object> loader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .expireAfterWrite(TTL);
+        CaffeineCache localCache;
+        if (loader == null) {
+            localCache = new CaffeineCache("jobs", builder.buildAsync(), true);
+        } else {
+            builder.refreshAfterWrite(REFRESH_AFTER);
+            localCache = new CaffeineCache("jobs",
+                    builder.buildAsync(new SharedTierCacheLoader(loader, sharedTier, "jobs", TTL, nodeId)), true);
+        }
+        TwoTierCacheManager manager = new TwoTierCacheManager(List.of(localCache), Map.of("jobs", TTL),
+                sharedTier, nodeId);
+        manager.afterPropertiesSet();
+        return manager.getCache("jobs");
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+}
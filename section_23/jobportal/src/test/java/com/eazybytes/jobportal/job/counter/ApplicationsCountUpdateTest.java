@@ -0,0 +1,62 @@
+package com.eazybytes.jobportal.job.counter;
+
+import com.eazybytes.jobportal.entity.Job;
+import com.eazybytes.jobportal.repository.JobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the relative {@code UPDATE} of {@link JobRepository#addToApplicationsCount} against the
+ * database, the counter tests only mock it.
+ */
+@SpringBootTest
+@Transactional
+class ApplicationsCountUpdateTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        Job template = jobRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+        Job job = new Job();
+        BeanUtils.copyProperties(template, job, "id", "savedByUsers", "jobApplications");
+        job.setApplicationsCount(null);
+        jobId = jobRepository.saveAndFlush(job).getId();
+    }
+
+    @Test
+    void nullCountStartsFromZero() {
+        assertEquals(1, jobRepository.addToApplicationsCount(jobId, 2));
+        assertEquals(2, applicationsCount());
+    }
+
+    @Test
+    void countIsClampedAtZero() {
+        jobRepository.addToApplicationsCount(jobId, 2);
+        jobRepository.addToApplicationsCount(jobId, -5);
+        assertEquals(0, applicationsCount());
+
+        jobRepository.addToApplicationsCount(jobId, 1);
+        assertEquals(1, applicationsCount());
+    }
+
+    private int applicationsCount() {
+        entityManager.clear();
+        return jobRepository.findById(jobId).orElseThrow().getApplicationsCount();
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.eazybytes.jobportal.job.counter;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.ApplyJobRequestDto;
+import com.eazybytes.jobportal.entity.Job;
+import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.entity.Role;
+import com.eazybytes.jobportal.repository.JobPortalUserRepository;
+import com.eazybytes.jobportal.repository.JobRepository;
+import com.eazybytes.jobportal.repository.RoleRepository;
+import com.eazybytes.jobportal.user.service.IUserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Applies and withdraws through {@link IUserService} against the compose MySQL while flushes run
+ * next to them, then checks the persisted {@code applications_count} column. Commits for real,
+ * the created rows are deleted afterwards.
+ */
+@SpringBootTest
+class ApplicationsCounterIntegrationTest {
+
+    private static final int APPLICANTS = 200;
+    private static final int WITHDRAWALS = 50;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private ApplicationsCounter applicationsCounter;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobPortalUserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> applicantIds = new ArrayList<>();
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        Role jobSeekerRole = roleRepository.findRoleByName(ApplicationConstants.ROLE_JOB_SEEKER).orElseThrow();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<JobPortalUser> applicants = new ArrayList<>();
+        for (int i = 0; i < APPLICANTS; i++) {
+            JobPortalUser applicant = new JobPortalUser();
+            applicant.setName("Counter Applicant " + i);
+            applicant.setEmail("counter." + run + "." + i + "@example.com");
+            applicant.setPasswordHash("{noop}unused");
+            applicant.setRole(jobSeekerRole);
+            applicants.add(applicant);
+        }
+        userRepository.saveAll(applicants).forEach(applicant -> applicantIds.add(applicant.getId()));
+
+        Job template = jobRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+        Job job = new Job();
+        BeanUtils.copyProperties(template, job, "id", "savedByUsers", "jobApplications");
+        job.setApplicationsCount(0);
+        jobId = jobRepository.saveAndFlush(job).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            entityManager.createQuery("DELETE FROM JobApplication a WHERE a.job.id = :jobId")
+                    .setParameter("jobId", jobId).executeUpdate();
+            jobRepository.deleteById(jobId);
+            userRepository.deleteAllById(applicantIds);
+        });
+    }
+
+    @Test
+    void concurrentAppliesAndWithdrawalsArePersistedExactly() throws Exception {
+        AtomicBoolean applying = new AtomicBoolean(true);
+        try (ExecutorService flusher = Executors.newSingleThreadExecutor()) {
+            Future<?> flushes = flusher.submit(() -> {
+                while (applying.get()) {
+                    applicationsCounter.flush();
+                }
+            });
+            try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+                applicantIds.forEach(userId -> executor.execute(() ->
+                        userService.applyForJob(userId, new ApplyJobRequestDto(jobId, "Counter test"))));
+            }
+            try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+                applicantIds.subList(0, WITHDRAWALS).forEach(userId -> executor.execute(() ->
+                        userService.withdrawApplication(userId, jobId)));
+            }
+            applying.set(false);
+            flushes.get();
+        }
+        applicationsCounter.flush();
+
+        assertEquals(APPLICANTS - WITHDRAWALS, persistedApplicationsCount());
+    }
+
+    private int persistedApplicationsCount() {
+        return ((Number) entityManager.createNativeQuery("SELECT applications_count FROM jobs WHERE id = :jobId")
+                .setParameter("jobId", jobId).getSingleResult()).intValue();
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.eazybytes.jobportal.job.counter;
+
+import com.eazybytes.jobportal.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ApplicationsCounterTest {
+
+    private static final long JOB_ID = 42L;
+
+    // applications_count per job as the relative UPDATE leaves it
+    private final ConcurrentHashMap<Long, AtomicLong> persisted = new ConcurrentHashMap<>();
+    private final AtomicBoolean failNextFlush = new AtomicBoolean(false);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+
+    ApplicationsCounterTest() {
+        doAnswer(invocation -> {
+            if (failNextFlush.compareAndSet(true, false)) {
+                throw new IllegalStateException("Lock wait timeout exceeded");
+            }
+            Long jobId = invocation.getArgument(0);
+            int delta = invocation.getArgument(1);
+            persisted.computeIfAbsent(jobId, _ -> new AtomicLong()).addAndGet(delta);
+            return 1;
+        }).when(jobRepository).addToApplicationsCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void tenThousandParallelAppliesAreCountedExactly() throws InterruptedException {
+        ApplicationsCounter counter = newCounter(1);
+        failNextFlush.set(true);
+        try (ExecutorService applicants = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < 10_000; i++) {
+                applicants.execute(() -> applyInTransaction(counter, JOB_ID, 1, true));
+            }
+            applicants.shutdown();
+            assertTrue(applicants.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        // One background flush failed, its deltas must be retried by the next ones
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (failNextFlush.get() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertFalse(failNextFlush.get());
+
+        counter.shutdown();
+        assertEquals(10_000, persistedCount(JOB_ID));
+        assertEquals(10_000, counter.count(JOB_ID, persistedCount(JOB_ID)));
+    }
+
+    @Test
+    void flushedDeltaIsMergedUntilTheFlushCommits() {
+        ApplicationsCounter counter = newCounter(60_000);
+        counter.add(JOB_ID, 3);
+        doAnswer(invocation -> {
+            persisted.computeIfAbsent(JOB_ID, _ -> new AtomicLong()).addAndGet(invocation.<Integer>getArgument(1));
+            // Written but not committed, readers still load the previous column value
+            assertEquals(3, counter.count(JOB_ID, 0));
+            return 1;
+        }).when(jobRepository).addToApplicationsCount(anyLong(), anyInt());
+        counter.flush();
+        assertEquals(3, persistedCount(JOB_ID));
+        assertEquals(3, counter.count(JOB_ID, persistedCount(JOB_ID)));
+        counter.shutdown();
+    }
+
+    @Test
+    void failedFlushIsNotCountedTwice() {
+        ApplicationsCounter counter = newCounter(60_000);
+        counter.add(JOB_ID, 2);
+        failNextFlush.set(true);
+        try {
+            counter.flush();
+        } catch (IllegalStateException ex) {
+            // Retried by the next flush
+        }
+        assertEquals(2, counter.count(JOB_ID, 0));
+
+        counter.flush();
+        assertEquals(2, persistedCount(JOB_ID));
+        assertEquals(2, counter.count(JOB_ID, persistedCount(JOB_ID)));
+        counter.shutdown();
+    }
+
+    @Test
+    void rolledBackApplyIsNotCounted() {
+        ApplicationsCounter counter = newCounter(60_000);
+        applyInTransaction(counter, JOB_ID, 1, true);
+        applyInTransaction(counter, JOB_ID, 1, false);
+        applyInTransaction(counter, JOB_ID, -1, false);
+        assertEquals(1, counter.count(JOB_ID, 0));
+
+        counter.flush();
+        assertEquals(1, persistedCount(JOB_ID));
+        assertEquals(1, counter.count(JOB_ID, persistedCount(JOB_ID)));
+        counter.shutdown();
+    }
+
+    private ApplicationsCounter newCounter(long flushIntervalMs) {
+        return new ApplicationsCounter(jobRepository, new TransactionTemplate(new NoOpTransactionManager()),
+                flushIntervalMs);
+    }
+
+    // Runs the transaction synchronizations like a real transaction manager, without a database
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static void applyInTransaction(ApplicationsCounter counter, Long jobId, int delta, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.add(jobId, delta);
+            if (commit) {
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private int persistedCount(Long jobId) {
+        return (int) persisted.getOrDefault(jobId, new AtomicLong()).get();
+    }
+
+}
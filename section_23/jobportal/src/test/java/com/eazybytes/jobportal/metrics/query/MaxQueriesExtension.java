@@ -0,0 +1,45 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.stream.Collectors;
+
+/**
+ * Counts the statements of a {@link MaxQueries} test body in a {@link QueryScope} of the
+ * application's {@link QueryStatsRecorder}.
+ */
+class MaxQueriesExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MaxQueriesExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryStatsRecorder recorder = SpringExtension.getApplicationContext(context).getBean(QueryStatsRecorder.class);
+        context.getStore(NAMESPACE).put(QueryScope.class, recorder.open(context.getDisplayName()));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryScope scope = context.getStore(NAMESPACE).remove(QueryScope.class, QueryScope.class);
+        scope.close();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        int budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class))
+                .orElseThrow().value();
+        if (scope.count() > budget) {
+            String statements = scope.shapes().entrySet().stream()
+                    .map(entry -> entry.getValue() + " x " + entry.getKey())
+                    .collect(Collectors.joining("\n  ", "\n  ", ""));
+            throw new AssertionFailedError("%s ran %d statements, the budget is %d:%s"
+                    .formatted(scope.name(), scope.count(), budget, statements));
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import com.eazybytes.jobportal.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * Runs {@link Budgets} through the JUnit Platform test kit, a test over its {@link MaxQueries}
+ * budget has to fail.
+ */
+class MaxQueriesExtensionTest {
+
+    private static volatile boolean runningInTestKit;
+
+    @Test
+    void testOverItsBudgetFails() {
+        Events tests;
+        runningInTestKit = true;
+        try {
+            tests = EngineTestKit.engine("junit-jupiter").selectors(selectClass(Budgets.class)).execute().testEvents();
+        } finally {
+            runningInTestKit = false;
+        }
+        assertEquals(1, tests.succeeded().count());
+        assertEquals(1, tests.failed().count());
+        Throwable failure = tests.failed().stream().findFirst().orElseThrow()
+                .getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow();
+        assertTrue(failure.getMessage().contains("ran 2 statements, the budget is 1"), failure.getMessage());
+    }
+
+    static boolean runningInTestKit() {
+        return runningInTestKit;
+    }
+
+    // Not a test of its own, only run by the test kit
+    @SpringBootTest
+    @EnabledIf("com.eazybytes.jobportal.metrics.query.MaxQueriesExtensionTest#runningInTestKit")
+    static class Budgets {
+
+        @Autowired
+        private JobRepository jobRepository;
+
+        @Test
+        @MaxQueries(1)
+        void overBudget() {
+            jobRepository.count();
+            jobRepository.count();
+        }
+
+        @Test
+        @MaxQueries(1)
+        void withinBudget() {
+            jobRepository.count();
+        }
+    }
+
+}
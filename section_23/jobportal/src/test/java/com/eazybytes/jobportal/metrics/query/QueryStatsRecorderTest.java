@@ -0,0 +1,45 @@
+package com.eazybytes.jobportal.metrics.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryStatsRecorderTest {
+
+    private final QueryStatsRecorder recorder = new QueryStatsRecorder();
+
+    @Test
+    void statementsCountInEveryEnclosingScope() {
+        recorder.inspect("select 1");
+        try (QueryScope request = recorder.open("GET /api/jobs")) {
+            recorder.inspect("select 2");
+            try (QueryScope method = recorder.open("JobServiceImpl.getEmployerJobs(..)")) {
+                recorder.inspect("select 3");
+                assertEquals(1, method.count());
+            }
+            recorder.inspect("select 4");
+            assertEquals(3, request.count());
+        }
+        try (QueryScope next = recorder.open("GET /api/companies")) {
+            assertEquals(0, next.count());
+        }
+    }
+
+    @Test
+    void repeatedShapesIgnoreFormattingAndInListSize() {
+        try (QueryScope scope = recorder.open("GET /api/companies")) {
+            recorder.inspect("select c.id from companies c");
+            for (int i = 0; i < 4; i++) {
+                recorder.inspect("select j.id\n    from jobs j\n    where j.company_id=?");
+            }
+            recorder.inspect("select p.id from profiles p where p.user_id in (?,?,?)");
+            recorder.inspect("select p.id from profiles p where p.user_id in (?, ?)");
+
+            assertEquals(Map.of("select j.id from jobs j where j.company_id=?", 4), scope.repeatedShapes(3));
+            assertEquals(2, scope.shapes().get("select p.id from profiles p where p.user_id in (?...)"));
+        }
+    }
+
+}
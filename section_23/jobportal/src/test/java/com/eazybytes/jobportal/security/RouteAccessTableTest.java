@@ -0,0 +1,60 @@
+package com.eazybytes.jobportal.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RouteAccessTableTest {
+
+    private final PathsConfig pathsConfig = new PathsConfig();
+    private final RouteAccessTable routeAccessTable = new RouteAccessTable(pathsConfig.publicPaths(),
+            pathsConfig.adminPaths(), pathsConfig.employerPaths(), pathsConfig.jobseekerPaths(),
+            pathsConfig.securedPaths());
+
+    @Test
+    void encodedPathsResolveLikeTheDecodedPath() {
+        assertEquals(AccessRule.ADMIN, resolve("/api/companies/admin"));
+        assertEquals(AccessRule.ADMIN, resolve("/api/companies/%61dmin"));
+        assertEquals(AccessRule.ADMIN, resolve("/api/companies/admin;jsessionid=1"));
+        assertEquals(AccessRule.EMPLOYER, resolve("/api/jobs/42/status/%65mployer"));
+    }
+
+    @Test
+    void variableSegmentsMatchAnyValue() {
+        assertEquals(AccessRule.EMPLOYER, routeAccessTable.resolve("/api/jobs/42/status/employer"));
+        assertEquals(AccessRule.JOB_SEEKER, routeAccessTable.resolve("/api/users/saved-jobs/7/jobseeker"));
+        assertEquals(AccessRule.ADMIN, routeAccessTable.resolve("/api/users/3/role/employer/admin"));
+    }
+
+    @Test
+    void otherApiPathsNeedAnAuthenticatedUser() {
+        assertEquals(AccessRule.AUTHENTICATED, routeAccessTable.resolve("/api/jobs/42"));
+        assertEquals(AccessRule.AUTHENTICATED, routeAccessTable.resolve("/api/jobs/42/status/admin"));
+        assertEquals(AccessRule.PUBLIC, routeAccessTable.resolve("/api/posts/1"));
+    }
+
+    @Test
+    void pathsOutsideEveryListAreDenied() {
+        assertEquals(AccessRule.DENY, routeAccessTable.resolve("/internal/reports"));
+        assertEquals(AccessRule.DENY, routeAccessTable.resolve("/"));
+    }
+
+    @Test
+    void literalPathResolvesToAHigherPrecedencePattern() {
+        RouteAccessTable table = new RouteAccessTable(List.of("/api/reports/**"), List.of("/api/{section}/audit/admin"),
+                List.of("/api/reports/export/employer", "/api/jobs/audit/admin"), List.of(), List.of("/api/**"));
+
+        assertEquals(AccessRule.PUBLIC, table.resolve("/api/reports/export/employer"));
+        assertEquals(AccessRule.ADMIN, table.resolve("/api/jobs/audit/admin"));
+        assertEquals(AccessRule.ADMIN, table.resolve("/api/companies/audit/admin"));
+        assertEquals(AccessRule.AUTHENTICATED, table.resolve("/api/jobs/export/employer"));
+    }
+
+    private AccessRule resolve(String requestUri) {
+        return routeAccessTable.resolve(new MockHttpServletRequest("PUT", requestUri));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.eazybytes.jobportal.security.password;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalCompromisedPasswordCheckerTest {
+
+    private static final String CORPUS = "/security/compromised-passwords-test.txt";
+
+    @Test
+    void inMemoryIndexMatchesPlainTextAndHashLines() throws IOException {
+        try (BufferedReader corpus = new BufferedReader(new InputStreamReader(
+                getClass().getResourceAsStream(CORPUS), StandardCharsets.UTF_8))) {
+            CompromisedPasswordIndex index = CompromisedPasswordIndex.of(CompromisedPasswordIndexBuilder.build(corpus));
+            // "password" is listed both as plain text and as its hash
+            assertEquals(5, index.size());
+            assertChecks(new LocalCompromisedPasswordChecker(index));
+        }
+    }
+
+    @Test
+    void mappedIndexFileMatchesTheSameCorpus(@TempDir Path directory) throws IOException {
+        Path source = directory.resolve("corpus.txt");
+        Path indexFile = directory.resolve("corpus.idx");
+        Files.copy(getClass().getResourceAsStream(CORPUS), source);
+
+        assertEquals(5, CompromisedPasswordIndexBuilder.build(source, indexFile));
+        try (LocalCompromisedPasswordChecker checker =
+                     new LocalCompromisedPasswordChecker(CompromisedPasswordIndex.open(indexFile))) {
+            assertChecks(checker);
+        }
+    }
+
+    @Test
+    void sortedHashDumpIsStreamed(@TempDir Path directory) throws IOException {
+        Path source = directory.resolve("sorted.txt");
+        Path indexFile = directory.resolve("sorted.idx");
+        Files.write(source, List.of(
+                "00000A1B2C3D4E5F60718293A4B5C6D7E8F90A1B:3",
+                "5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD8:10434004",
+                "5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD8:10434004",
+                "FFFFF0000000000000000000000000000000000A:1"));
+
+        assertEquals(3, CompromisedPasswordIndexBuilder.build(source, indexFile));
+        try (CompromisedPasswordIndex index = CompromisedPasswordIndex.open(indexFile)) {
+            assertTrue(index.contains(CompromisedPasswordIndexBuilder.sha1("password")));
+            assertFalse(index.contains(CompromisedPasswordIndexBuilder.sha1("123456")));
+        }
+    }
+
+    private static void assertChecks(LocalCompromisedPasswordChecker checker) {
+        assertTrue(checker.check("password").isCompromised());
+        assertTrue(checker.check("123456").isCompromised());
+        assertTrue(checker.check("hunter2").isCompromised());
+        assertTrue(checker.check("correct-horse").isCompromised());
+        assertFalse(checker.check("Password").isCompromised());
+        assertFalse(checker.check("kT9#vLq2!mZx").isCompromised());
+        assertFalse(checker.check(null).isCompromised());
+    }
+
+}
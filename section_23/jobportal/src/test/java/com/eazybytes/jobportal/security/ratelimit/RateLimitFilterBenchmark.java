@@ -0,0 +1,69 @@
+package com.eazybytes.jobportal.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the {@link RateLimitFilter} adds to a request on a limited path: path decoding, the
+ * bucket lookup per client IP and the token refill. The bucket never runs dry, so every
+ * request takes the allowed branch. Unlimited paths are skipped by {@code shouldNotFilter}
+ * and are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (_, _) -> {
+    };
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Limit path = new RateLimitProperties.Limit();
+        path.setPath("/api/auth/login/public");
+        path.setCapacity(Integer.MAX_VALUE);
+        path.setPeriod(Duration.ofSeconds(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPaths(List.of(path));
+        filter = new RateLimitFilter(new RateLimiter(properties));
+        request = new MockHttpServletRequest("POST", "/api/auth/login/public");
+        request.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse limitedPath() throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimitFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.eazybytes.jobportal.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private static final String LOGIN_PATH = "/api/auth/login/public";
+
+    private static final FilterChain NO_OP_CHAIN = (_, _) -> {
+    };
+
+    @Test
+    void requestsBeyondTheCapacityGetTooManyRequests() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties(3, Duration.ofMinutes(1))));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, doFilter(filter, LOGIN_PATH, "10.0.0.1").getStatus());
+        }
+        MockHttpServletResponse refused = doFilter(filter, LOGIN_PATH, "10.0.0.1");
+        assertEquals(429, refused.getStatus());
+        assertEquals("20", refused.getHeader(HttpHeaders.RETRY_AFTER));
+
+        // Other clients and other paths have their own buckets
+        assertEquals(200, doFilter(filter, LOGIN_PATH, "10.0.0.2").getStatus());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, doFilter(filter, "/api/jobs/search/public", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void loginIsAlsoLimitedPerUsername() {
+        RateLimiter rateLimiter = new RateLimiter(properties(100, Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(rateLimiter.tryAcquireLogin("jane@example.com").allowed());
+        }
+        assertFalse(rateLimiter.tryAcquireLogin(" Jane@Example.com").allowed());
+        assertTrue(rateLimiter.tryAcquireLogin("john@example.com").allowed());
+    }
+
+    @Test
+    void encodedPathsShareTheBucketOfTheDecodedPath() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties(2, Duration.ofMinutes(1))));
+
+        assertEquals(200, doFilter(filter, LOGIN_PATH, "10.0.0.1").getStatus());
+        assertEquals(200, doFilter(filter, "/api/auth/%6Cogin/public", "10.0.0.1").getStatus());
+        assertEquals(429, doFilter(filter, "/api/auth/%6Cogin/public", "10.0.0.1").getStatus());
+        assertEquals(429, doFilter(filter, "/api/auth/login/public;jsessionid=1", "10.0.0.1").getStatus());
+    }
+
+    private static RateLimitProperties properties(int capacity, Duration period) {
+        RateLimitProperties.Limit path = new RateLimitProperties.Limit();
+        path.setPath(LOGIN_PATH);
+        path.setCapacity(capacity);
+        path.setPeriod(period);
+        RateLimitProperties.Limit login = new RateLimitProperties.Limit();
+        login.setCapacity(2);
+        login.setPeriod(period);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPaths(List.of(path));
+        properties.setLogin(login);
+        return properties;
+    }
+
+    private static MockHttpServletResponse doFilter(RateLimitFilter filter, String path, String clientIp)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, clientIp), response, NO_OP_CHAIN);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String clientIp) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(clientIp);
+        return request;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.eazybytes.jobportal.security.token;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.security.JobPortalPrincipal;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenServiceTest {
+
+    private static final String RETIRED_SECRET = "a-retired-secret-of-at-least-thirty-two-bytes";
+
+    private final JwtTokenService jwtTokenService = jwtTokenService();
+    private final JobPortalUser user = user();
+    private final UUID familyId = UUID.randomUUID();
+
+    @Test
+    void refreshRotatesTheRefreshToken() {
+        String refreshToken = jwtTokenService.generateRefreshToken(user, familyId);
+        JwtTokenService.RefreshGrant grant = jwtTokenService.rotateRefreshToken(refreshToken);
+        assertEquals(user.getId(), grant.userId());
+        assertEquals(familyId, grant.familyId());
+
+        String nextRefreshToken = jwtTokenService.generateRefreshToken(user, grant);
+        assertNotNull(jwtTokenService.rotateRefreshToken(nextRefreshToken));
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesTheFamily() {
+        String accessToken = jwtTokenService.generateJwtToken(authentication(), familyId);
+        String refreshToken = jwtTokenService.generateRefreshToken(user, familyId);
+        JwtTokenService.RefreshGrant grant = jwtTokenService.rotateRefreshToken(refreshToken);
+        String nextRefreshToken = jwtTokenService.generateRefreshToken(user, grant);
+
+        assertThrows(JwtException.class, () -> jwtTokenService.rotateRefreshToken(refreshToken));
+        assertThrows(JwtException.class, () -> jwtTokenService.rotateRefreshToken(nextRefreshToken));
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(accessToken));
+    }
+
+    @Test
+    void concurrentRefreshesWithTheSameTokenOnlyOneSucceeds() throws Exception {
+        String refreshToken = jwtTokenService.generateRefreshToken(user, familyId);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JwtTokenService.RefreshGrant>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            Callable<JwtTokenService.RefreshGrant> refresh = () -> {
+                start.await();
+                return jwtTokenService.rotateRefreshToken(refreshToken);
+            };
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(refresh));
+            }
+            start.countDown();
+        }
+        List<JwtTokenService.RefreshGrant> grants = new ArrayList<>();
+        for (Future<JwtTokenService.RefreshGrant> result : results) {
+            try {
+                grants.add(result.get());
+            } catch (ExecutionException ex) {
+                assertEquals(JwtException.class, ex.getCause().getClass());
+            }
+        }
+        assertEquals(1, grants.size());
+        // The losers presented a rotated token, the family of the winner is revoked too
+        String winnerRefreshToken = jwtTokenService.generateRefreshToken(user, grants.getFirst());
+        assertThrows(JwtException.class, () -> jwtTokenService.rotateRefreshToken(winnerRefreshToken));
+    }
+
+    @Test
+    void logoutRevokesTheSession() {
+        String accessToken = jwtTokenService.generateJwtToken(authentication(), familyId);
+        String refreshToken = jwtTokenService.generateRefreshToken(user, familyId);
+        UUID otherFamilyId = UUID.randomUUID();
+        String otherSessionToken = jwtTokenService.generateJwtToken(authentication(), otherFamilyId);
+        assertNotNull(jwtTokenService.authenticate(accessToken));
+
+        jwtTokenService.revoke(accessToken);
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(accessToken));
+        assertThrows(JwtException.class, () -> jwtTokenService.rotateRefreshToken(refreshToken));
+        assertNotNull(jwtTokenService.authenticate(otherSessionToken));
+    }
+
+    @Test
+    void logoutFromAllDevicesRevokesEarlierTokens() throws InterruptedException {
+        String accessToken = jwtTokenService.generateJwtToken(authentication(), familyId);
+        String refreshToken = jwtTokenService.generateRefreshToken(user, familyId);
+        // iat has a precision of one second, tokens of the logout second survive revokeAll
+        Thread.sleep(1_000);
+        jwtTokenService.revokeAll(user.getId());
+
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(accessToken));
+        assertThrows(JwtException.class, () -> jwtTokenService.rotateRefreshToken(refreshToken));
+    }
+
+    @Test
+    void tokenSignedWithARetiredKeyIsAccepted() {
+        JwtTokenService rotated = jwtTokenService(List.of("old=" + RETIRED_SECRET));
+        String token = signedToken("old", RETIRED_SECRET);
+        assertEquals(user.getId(), ((JobPortalPrincipal) rotated.authenticate(token).getPrincipal()).userId());
+    }
+
+    @Test
+    void tokenSignedWithAnUnknownKeyIsRejected() {
+        String token = signedToken("old", RETIRED_SECRET);
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(token));
+    }
+
+    @Test
+    void tokenWithoutKeyIdIsVerifiedWithTheActiveKey() {
+        String token = signedToken(null, ApplicationConstants.JWT_SECRET_DEFAULT_VALUE);
+        assertNotNull(jwtTokenService.authenticate(token));
+        String retiredToken = signedToken(null, RETIRED_SECRET);
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(retiredToken));
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItsFamilyIsRevoked() {
+        String accessToken = jwtTokenService.generateJwtToken(authentication(), familyId);
+        String refreshToken = jwtTokenService.generateRefreshToken(user, familyId);
+        assertNotNull(jwtTokenService.authenticate(accessToken));
+
+        // Revoking through the refresh token leaves the access token in the verified token cache
+        jwtTokenService.revoke(refreshToken);
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(accessToken));
+    }
+
+    @Test
+    void cachedTokenIsRejectedAfterLogoutFromAllDevices() throws InterruptedException {
+        String accessToken = jwtTokenService.generateJwtToken(authentication(), familyId);
+        assertNotNull(jwtTokenService.authenticate(accessToken));
+        Thread.sleep(1_000);
+
+        jwtTokenService.revokeAll(user.getId());
+        assertThrows(JwtException.class, () -> jwtTokenService.authenticate(accessToken));
+    }
+
+    private String signedToken(String keyId, String secret) {
+        Date issuedAt = new Date();
+        return Jwts.builder().header().keyId(keyId).and()
+                .id(UUID.randomUUID().toString())
+                .claim(JwtTokenService.TOKEN_TYPE_CLAIM, JwtTokenService.ACCESS_TOKEN_TYPE)
+                .claim(JwtTokenService.USER_ID_CLAIM, user.getId())
+                .claim("roles", "ROLE_JOB_SEEKER")
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + Duration.ofMinutes(15).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))).compact();
+    }
+
+    private Authentication authentication() {
+        return UsernamePasswordAuthenticationToken.authenticated(user, null,
+                AuthorityUtils.createAuthorityList("ROLE_JOB_SEEKER"));
+    }
+
+    private static JobPortalUser user() {
+        JobPortalUser user = new JobPortalUser();
+        user.setId(42L);
+        user.setName("Jane");
+        user.setEmail("jane@example.com");
+        return user;
+    }
+
+    private static JwtTokenService jwtTokenService() {
+        return jwtTokenService(List.of());
+    }
+
+    private static JwtTokenService jwtTokenService(List<String> retiredKeys) {
+        JwtTokenService jwtTokenService = new JwtTokenService(new MockEnvironment(),
+                new TokenRevocationList(7, 1_000, 0.001, 1_000), "default", retiredKeys, 100);
+        ReflectionTestUtils.setField(jwtTokenService, "jwtIssuer", "Job Portal");
+        ReflectionTestUtils.setField(jwtTokenService, "jwtSubject", "JWT Token");
+        ReflectionTestUtils.setField(jwtTokenService, "accessTokenMinutes", 15L);
+        ReflectionTestUtils.setField(jwtTokenService, "refreshTokenDays", 7L);
+        return jwtTokenService;
+    }
+
+}
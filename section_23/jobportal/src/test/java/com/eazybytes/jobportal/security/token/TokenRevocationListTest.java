@@ -0,0 +1,58 @@
+package com.eazybytes.jobportal.security.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationListTest {
+
+    private static final Instant LOGOUT = Instant.parse("2026-01-01T10:00:00.400Z");
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(7, 1_000, 0.001, 1_000,
+            Clock.fixed(LOGOUT, ZoneOffset.UTC));
+
+    @Test
+    void revokeAllKeepsTokensIssuedInTheSameSecond() {
+        revocationList.revokeAll(1L);
+        assertTrue(revocationList.isRevoked(1L, UUID.randomUUID(), null, LOGOUT.minusMillis(401)));
+        // iat is truncated to the second, a token issued at 10:00:00.900 reads 10:00:00 too
+        assertFalse(revocationList.isRevoked(1L, UUID.randomUUID(), null, Instant.parse("2026-01-01T10:00:00Z")));
+        assertFalse(revocationList.isRevoked(1L, UUID.randomUUID(), null, LOGOUT.plusSeconds(1)));
+        assertFalse(revocationList.isRevoked(2L, UUID.randomUUID(), null, LOGOUT.minusSeconds(60)));
+    }
+
+    @Test
+    void revokedTokenAndFamilyIdsAreRevoked() {
+        UUID tokenId = UUID.randomUUID();
+        UUID familyId = UUID.randomUUID();
+        assertFalse(revocationList.isRevoked(1L, tokenId, familyId, LOGOUT));
+
+        revocationList.revoke(familyId);
+        assertTrue(revocationList.isRevoked(1L, UUID.randomUUID(), familyId, LOGOUT));
+        assertFalse(revocationList.isRevoked(1L, tokenId, null, LOGOUT));
+
+        revocationList.revoke(tokenId);
+        assertTrue(revocationList.isRevoked(1L, tokenId, null, LOGOUT));
+    }
+
+    @Test
+    void rotationAcceptsOnlyTheLatestTokenOfAFamily() {
+        UUID familyId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        assertTrue(revocationList.rotate(familyId, first, second));
+        assertTrue(revocationList.isRevoked(1L, first, familyId, LOGOUT));
+        assertFalse(revocationList.isRevoked(1L, second, familyId, LOGOUT));
+
+        // first presented again: a reuse, the family is revoked with the token issued in exchange
+        assertFalse(revocationList.rotate(familyId, first, UUID.randomUUID()));
+        assertTrue(revocationList.isRevoked(1L, second, familyId, LOGOUT));
+    }
+
+}
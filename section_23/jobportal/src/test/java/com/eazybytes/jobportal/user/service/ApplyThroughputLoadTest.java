@@ -0,0 +1,159 @@
+package com.eazybytes.jobportal.user.service;
+
+import com.eazybytes.jobportal.constants.ApplicationConstants;
+import com.eazybytes.jobportal.dto.ApplyJobRequestDto;
+import com.eazybytes.jobportal.entity.Job;
+import com.eazybytes.jobportal.entity.JobApplication;
+import com.eazybytes.jobportal.entity.JobPortalUser;
+import com.eazybytes.jobportal.entity.Role;
+import com.eazybytes.jobportal.repository.JobApplicationRepository;
+import com.eazybytes.jobportal.repository.JobPortalUserRepository;
+import com.eazybytes.jobportal.repository.JobRepository;
+import com.eazybytes.jobportal.repository.RoleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Apply throughput on one popular job against the compose MySQL: {@link #APPLICANTS} job seekers
+ * apply concurrently from {@link #THREADS} threads, through {@link IUserService#applyForJob} and
+ * through the previous path (an existence check, loads of the job and the user, the INSERT and
+ * a write of the job row in the same transaction).
+ * <p>
+ * Commits for real and takes a while, run it with {@code -Dload-tests=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class ApplyThroughputLoadTest {
+
+    private static final int APPLICANTS = 2_000;
+    private static final int WARMUP_APPLICANTS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobPortalUserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> applicantIds = new ArrayList<>();
+    private final List<Long> jobIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Role jobSeekerRole = roleRepository.findRoleByName(ApplicationConstants.ROLE_JOB_SEEKER).orElseThrow();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<JobPortalUser> applicants = new ArrayList<>();
+        for (int i = 0; i < APPLICANTS; i++) {
+            JobPortalUser applicant = new JobPortalUser();
+            applicant.setName("Load Applicant " + i);
+            applicant.setEmail("load." + run + "." + i + "@example.com");
+            applicant.setPasswordHash("{noop}unused");
+            applicant.setRole(jobSeekerRole);
+            applicants.add(applicant);
+        }
+        userRepository.saveAll(applicants).forEach(applicant -> applicantIds.add(applicant.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            entityManager.createQuery("DELETE FROM JobApplication a WHERE a.job.id IN :jobIds")
+                    .setParameter("jobIds", jobIds).executeUpdate();
+            jobRepository.deleteAllById(jobIds);
+            userRepository.deleteAllById(applicantIds);
+        });
+    }
+
+    @Test
+    void applyIsAtLeastTwiceAsFastAsCheckThenInsert() throws InterruptedException {
+        BiConsumer<Long, Long> singleInsert = (userId, jobId) ->
+                userService.applyForJob(userId, new ApplyJobRequestDto(jobId, "Load test"));
+        List<Long> warmupApplicants = applicantIds.subList(0, WARMUP_APPLICANTS);
+        appliesPerSecond(this::checkThenInsertApply, warmupApplicants);
+        appliesPerSecond(singleInsert, warmupApplicants);
+
+        double checkThenInsert = appliesPerSecond(this::checkThenInsertApply, applicantIds);
+        double current = appliesPerSecond(singleInsert, applicantIds);
+        assertTrue(current >= 2 * checkThenInsert, String.format(
+                "applyForJob %.0f applies/s, check then insert %.0f applies/s", current, checkThenInsert));
+    }
+
+    private double appliesPerSecond(BiConsumer<Long, Long> apply, List<Long> applicants)
+            throws InterruptedException {
+        Long jobId = newJob();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            applicants.forEach(userId -> executor.execute(() -> apply.accept(userId, jobId)));
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        assertEquals(applicants.size(), jobApplicationRepository.countByJobId(jobId));
+        return applicants.size() / seconds;
+    }
+
+    // The apply path before the single INSERT, every apply locks the job row until it commits
+    private void checkThenInsertApply(Long userId, Long jobId) {
+        transactionTemplate.executeWithoutResult(_ -> {
+            long existing = entityManager.createQuery("""
+                            SELECT COUNT(a) FROM JobApplication a
+                            WHERE a.user.id = :userId AND a.job.id = :jobId""", Long.class)
+                    .setParameter("userId", userId).setParameter("jobId", jobId).getSingleResult();
+            if (existing > 0) {
+                throw new RuntimeException("You have already applied for this job");
+            }
+            Job job = jobRepository.findById(jobId).orElseThrow();
+            JobApplication application = new JobApplication();
+            application.setUser(userRepository.findById(userId).orElseThrow());
+            application.setJob(job);
+            application.setAppliedAt(Instant.now());
+            application.setStatus(ApplicationConstants.PENDING);
+            application.setCoverLetter("Load test");
+            jobApplicationRepository.save(application);
+            jobRepository.addToApplicationsCount(jobId, 1);
+        });
+    }
+
+    private Long newJob() {
+        Job template = jobRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+        Job job = new Job();
+        BeanUtils.copyProperties(template, job, "id", "savedByUsers", "jobApplications");
+        job.setApplicationsCount(0);
+        Long jobId = jobRepository.saveAndFlush(job).getId();
+        jobIds.add(jobId);
+        return jobId;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.eazybytes.jobportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() {
+        String csv = "name,locations\r\n\r\nAcme,\"Paris, \"\"FR\"\"\nLyon\"\nBeta,\n\"\"\nlast";
+        List<List<String>> records = new CsvRecordReader(new StringReader(csv)).records().toList();
+        assertEquals(List.of(
+                List.of("name", "locations"),
+                List.of("Acme", "Paris, \"FR\"\nLyon"),
+                List.of("Beta", ""),
+                List.of(""),
+                List.of("last")), records);
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertNull(new CsvRecordReader(new StringReader("")).readRecord());
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b\nc"));
+        IOException ex = assertThrows(IOException.class, reader::readRecord);
+        assertEquals("Unterminated quoted field on line 2", ex.getMessage());
+    }
+
+}